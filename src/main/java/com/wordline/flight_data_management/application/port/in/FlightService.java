@@ -1,23 +1,39 @@
 package com.wordline.flight_data_management.application.port.in;
 
+import com.wordline.flight_data_management.domain.model.BulkItemResult;
 import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightCursor;
+import com.wordline.flight_data_management.domain.model.FlightPage;
+import com.wordline.flight_data_management.domain.model.FlightPatch;
 import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface FlightService {
 
     Flight createFlight(Flight flight);
 
-    Flight updateFlight(UUID id, Flight flight);
+    List<BulkItemResult> createFlights(List<Flight> flights);
+
+    // A null expectedVersion writes unconditionally
+    Flight patchFlight(UUID id, FlightPatch patch, Long expectedVersion);
+
+    List<BulkItemResult> updateFlights(List<Flight> flights);
 
     Optional<Flight> getFlightById(UUID id);
 
     List<Flight> getAllFlights();
 
+    FlightPage getFlightPage(FlightCursor after, int limit);
+
+    void exportFlights(Consumer<Flight> consumer);
+
     List<Flight> searchFlights(FlightSearchCriteria criteria);
 
-    void deleteFlight(UUID id);
+    void deleteFlight(UUID id, Long expectedVersion);
+
+    List<BulkItemResult> deleteFlights(List<UUID> ids);
 }
@@ -1,23 +1,41 @@
 package com.wordline.flight_data_management.application.port.out;
 
+import com.wordline.flight_data_management.domain.model.BulkItemResult;
 import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightCursor;
+import com.wordline.flight_data_management.domain.model.FlightPatch;
 import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface FlightRepository {
 
-    Flight save(Flight flight);
+    Flight insert(Flight flight);
+
+    List<BulkItemResult> insertAll(List<Flight> flights);
+
+    List<BulkItemResult> updateAll(List<Flight> flights);
+
+    // Conditional writes: the affected-row count reports a missing flight, no existence check runs first.
+    // A non-null expectedVersion also makes them miss when the stored version differs.
+    Optional<Flight> patch(UUID id, FlightPatch patch, Long expectedVersion);
+
+    boolean remove(UUID id, Long expectedVersion);
 
     Optional<Flight> findById(UUID id);
 
     List<Flight> findAll();
 
+    List<Flight> findPage(FlightCursor after, int limit);
+
+    void forEachFlight(Consumer<Flight> action);
+
     List<Flight> findByCriteria(FlightSearchCriteria criteria);
 
-    void deleteById(UUID id);
+    List<BulkItemResult> deleteAllById(List<UUID> ids);
 
     boolean existsById(UUID id);
 }
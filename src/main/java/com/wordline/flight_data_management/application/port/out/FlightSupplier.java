@@ -0,0 +1,25 @@
+package com.wordline.flight_data_management.application.port.out;
+
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface FlightSupplier {
+
+    String getName();
+
+    List<Flight> searchFlights(FlightSearchCriteria criteria);
+
+    Flux<Flight> streamFlights(FlightSearchCriteria criteria);
+
+    Duration getDeadline();
+
+    int getMaxConcurrency();
+
+    default List<Flight> fallback(FlightSearchCriteria criteria, Throwable cause) {
+        return List.of();
+    }
+}
@@ -0,0 +1,10 @@
+package com.wordline.flight_data_management.application.port.out;
+
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveCrazySupplierClient {
+
+    Flux<Flight> streamFlights(FlightSearchCriteria criteria);
+}
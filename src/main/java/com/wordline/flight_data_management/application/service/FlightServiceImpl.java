@@ -1,13 +1,21 @@
 package com.wordline.flight_data_management.application.service;
 
 import com.wordline.flight_data_management.application.port.in.FlightService;
-import com.wordline.flight_data_management.application.port.out.CrazySupplierClient;
 import com.wordline.flight_data_management.application.port.out.FlightRepository;
+import com.wordline.flight_data_management.domain.exception.FlightDataManagementException;
 import com.wordline.flight_data_management.domain.exception.FlightNotFoundException;
-import com.wordline.flight_data_management.domain.model.CrazySupplierFlight;
+import com.wordline.flight_data_management.domain.exception.FlightVersionConflictException;
+import com.wordline.flight_data_management.domain.model.BulkItemResult;
 import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightCursor;
+import com.wordline.flight_data_management.domain.model.FlightPage;
+import com.wordline.flight_data_management.domain.model.FlightPatch;
 import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
-import com.wordline.flight_data_management.infrastructure.util.TimezoneConverter;
+import com.wordline.flight_data_management.domain.model.FlightSearchKey;
+import com.wordline.flight_data_management.infrastructure.cache.CacheNames;
+import com.wordline.flight_data_management.infrastructure.cache.FlightSearchCache;
+import com.wordline.flight_data_management.infrastructure.cache.SupplierFlightCache;
+import com.wordline.flight_data_management.infrastructure.util.UuidV7Generator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
@@ -15,53 +23,89 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FlightServiceImpl implements FlightService {
 
-    private static final String CRAZY_SUPPLIER = "CrazySupplier";
-
     private final FlightRepository flightRepository;
-    private final CrazySupplierClient crazySupplierClient;
+    private final FlightSupplierRegistry flightSupplierRegistry;
+    private final LocalFlightSearch localFlightSearch;
+    private final FlightSearchCache flightSearchCache;
+    private final SupplierFlightCache supplierFlightCache;
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.FLIGHT_BY_ID, key = "#result.id")
     public Flight createFlight(Flight flight) {
         log.debug("Creating flight: {}", flight);
         if (flight.getId() == null) {
-            flight.setId(UUID.randomUUID());
+            flight.setId(UuidV7Generator.randomV7());
         }
-        return flightRepository.save(flight);
+        Flight savedFlight = flightRepository.insert(flight);
+        flightSearchCache.evictAffectedBy(savedFlight);
+        return savedFlight;
     }
 
+    // Bulk writes are deliberately not transactional, the repository commits each chunk on its own
     @Override
-    @Transactional
-    @CacheEvict(value = "flights", key = "#id")
-    public Flight updateFlight(UUID id, Flight flight) {
-        log.debug("Updating flight with id: {}", id);
-        if (!flightRepository.existsById(id)) {
-            throw FlightNotFoundException.withId(id);
+    public List<BulkItemResult> createFlights(List<Flight> flights) {
+        log.debug("Creating {} flights", flights.size());
+        for (Flight flight : flights) {
+            if (flight.getId() == null) {
+                flight.setId(UuidV7Generator.randomV7());
+            }
         }
-        flight.setId(id);
-        return flightRepository.save(flight);
+        List<BulkItemResult> results = flightRepository.insertAll(flights);
+        flightSearchCache.evictAffectedBy(results.stream()
+                .filter(BulkItemResult::isSuccess)
+                .map(result -> flights.get(result.index()))
+                .toArray(Flight[]::new));
+        return results;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheNames.FLIGHT_BY_ID, key = "#id")
+    public Flight patchFlight(UUID id, FlightPatch patch, Long expectedVersion) {
+        log.debug("Patching flight with id: {}", id);
+        Flight patchedFlight = flightRepository.patch(id, patch, expectedVersion)
+                .orElseThrow(() -> missedWrite(id, expectedVersion));
+        flightSearchCache.evictContaining(id);
+        flightSearchCache.evictAffectedBy(patchedFlight);
+        return patchedFlight;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheNames.FLIGHT_BY_ID, allEntries = true)
+    public List<BulkItemResult> updateFlights(List<Flight> flights) {
+        log.debug("Updating {} flights", flights.size());
+        List<BulkItemResult> results = flightRepository.updateAll(flights);
+        List<Flight> updatedFlights = results.stream()
+                .filter(BulkItemResult::isSuccess)
+                .map(result -> flights.get(result.index()))
+                .toList();
+        flightSearchCache.evictContaining(updatedFlights.stream().map(Flight::getId).toArray(UUID[]::new));
+        flightSearchCache.evictAffectedBy(updatedFlights.toArray(Flight[]::new));
+        return results;
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "flights", key = "#id")
+    // Misses and unversioned supplier flights are not cached, a later search may reprice or drop them
+    @Cacheable(cacheNames = CacheNames.FLIGHT_BY_ID, key = "#id", unless = "#result == null || #result.version == null")
     public Optional<Flight> getFlightById(UUID id) {
         log.debug("Getting flight with id: {}", id);
-        return flightRepository.findById(id);
+        // A supplier flight is only found while a recent search still has it
+        return flightRepository.findById(id).or(() -> supplierFlightCache.get(id));
     }
 
     @Override
@@ -73,81 +117,71 @@ public class FlightServiceImpl implements FlightService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "flights", key = "'search:' + #criteria.hashCode()")
-    public List<Flight> searchFlights(FlightSearchCriteria criteria) {
-        log.debug("Searching flights with criteria: {}", criteria);
+    public FlightPage getFlightPage(FlightCursor after, int limit) {
+        log.debug("Getting {} flights after: {}", limit, after);
+        // One extra row tells whether another page follows without a count query
+        List<Flight> flights = flightRepository.findPage(after, limit + 1);
+        if (flights.size() <= limit) {
+            return new FlightPage(flights, null);
+        }
+        List<Flight> page = List.copyOf(flights.subList(0, limit));
+        return new FlightPage(page, FlightCursor.after(page.getLast()));
+    }
 
-        CompletableFuture<List<Flight>> repositoryFlightsFuture = CompletableFuture.supplyAsync(() -> {
-            log.debug("Fetching flights from repository");
-            return flightRepository.findByCriteria(criteria);
-        });
-
-        CompletableFuture<List<Flight>> crazySupplierFlightsFuture = CompletableFuture.supplyAsync(() -> {
-            log.debug("Fetching flights from CrazySupplier");
-            try {
-                List<CrazySupplierFlight> crazySupplierFlights = crazySupplierClient.searchFlights(criteria);
-                return convertCrazySupplierFlights(crazySupplierFlights);
-            } catch (Exception e) {
-                log.error("Error fetching flights from CrazySupplier", e);
-                return List.of();
-            }
-        });
+    @Override
+    @Transactional(readOnly = true)
+    public void exportFlights(Consumer<Flight> consumer) {
+        log.debug("Exporting all flights");
+        flightRepository.forEachFlight(consumer);
+    }
 
-        List<Flight> allFlights = new ArrayList<>();
+    @Override
+    @Transactional(readOnly = true)
+    public List<Flight> searchFlights(FlightSearchCriteria criteria) {
+        log.debug("Searching flights with criteria: {}", criteria);
+        // Suppliers are asked first so they answer from their caches or the network while local flights are looked up
+        CompletableFuture<List<Flight>> supplierFlightsFuture =
+                flightSupplierRegistry.searchAll(FlightSearchKey.from(criteria).toCriteria());
+        List<Flight> allFlights = new ArrayList<>(localFlightSearch.find(criteria));
         try {
-            allFlights.addAll(repositoryFlightsFuture.get());
-            allFlights.addAll(crazySupplierFlightsFuture.get());
-        } catch (Exception e) {
-            log.error("Error combining flight results", e);
-            // If there's an error, try to get at least the repository flights
-            try {
-                allFlights.addAll(repositoryFlightsFuture.get());
-            } catch (Exception ex) {
-                log.error("Error getting repository flights", ex);
-            }
+            allFlights.addAll(supplierFlightsFuture.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while waiting for supplier flights", e);
+        } catch (ExecutionException e) {
+            log.error("Error combining flight results", e.getCause());
         }
-
         return allFlights;
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "flights", key = "#id")
-    public void deleteFlight(UUID id) {
+    @CacheEvict(cacheNames = CacheNames.FLIGHT_BY_ID, key = "#id")
+    public void deleteFlight(UUID id, Long expectedVersion) {
         log.debug("Deleting flight with id: {}", id);
-        if (!flightRepository.existsById(id)) {
-            throw FlightNotFoundException.withId(id);
+        if (!flightRepository.remove(id, expectedVersion)) {
+            throw missedWrite(id, expectedVersion);
         }
-        flightRepository.deleteById(id);
+        flightSearchCache.evictContaining(id);
     }
 
-    private List<Flight> convertCrazySupplierFlights(List<CrazySupplierFlight> crazySupplierFlights) {
-        if (crazySupplierFlights == null) {
-            return new ArrayList<>();
-        }
-
-        return crazySupplierFlights.stream()
-                .map(this::convertCrazySupplierFlight)
-                .collect(Collectors.toList());
+    @Override
+    @CacheEvict(cacheNames = CacheNames.FLIGHT_BY_ID, allEntries = true)
+    public List<BulkItemResult> deleteFlights(List<UUID> ids) {
+        log.debug("Deleting {} flights", ids.size());
+        List<BulkItemResult> results = flightRepository.deleteAllById(ids);
+        flightSearchCache.evictContaining(results.stream()
+                .filter(BulkItemResult::isSuccess)
+                .map(BulkItemResult::id)
+                .toArray(UUID[]::new));
+        return results;
     }
 
-    private Flight convertCrazySupplierFlight(CrazySupplierFlight crazySupplierFlight) {
-        BigDecimal totalFare = crazySupplierFlight.getBasePrice().add(crazySupplierFlight.getTax());
-
-        ZonedDateTime departureTime = TimezoneConverter.convertLocalDateTimeFromCetToUtc(crazySupplierFlight.getOutboundDateTime())
-                .atZone(TimezoneConverter.UTC_ZONE);
-        ZonedDateTime arrivalTime = TimezoneConverter.convertLocalDateTimeFromCetToUtc(crazySupplierFlight.getInboundDateTime())
-                .atZone(TimezoneConverter.UTC_ZONE);
-
-        return Flight.builder()
-                .id(UUID.randomUUID())
-                .airline(crazySupplierFlight.getCarrier())
-                .supplier(CRAZY_SUPPLIER)
-                .fare(totalFare)
-                .departureAirport(crazySupplierFlight.getDepartureAirportName())
-                .destinationAirport(crazySupplierFlight.getArrivalAirportName())
-                .departureTime(departureTime)
-                .arrivalTime(arrivalTime)
-                .build();
+    // Only a conditional write that missed pays for telling a stale version from a missing flight
+    private FlightDataManagementException missedWrite(UUID id, Long expectedVersion) {
+        if (expectedVersion != null && flightRepository.existsById(id)) {
+            return FlightVersionConflictException.withId(id, expectedVersion);
+        }
+        return FlightNotFoundException.withId(id);
     }
 }
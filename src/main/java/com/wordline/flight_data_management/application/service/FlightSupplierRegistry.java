@@ -0,0 +1,177 @@
+package com.wordline.flight_data_management.application.service;
+
+import com.wordline.flight_data_management.application.port.out.FlightSupplier;
+import com.wordline.flight_data_management.domain.exception.ExternalServiceException;
+import com.wordline.flight_data_management.domain.exception.SupplierUnavailableException;
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.infrastructure.cache.SupplierFlightCache;
+import com.wordline.flight_data_management.infrastructure.concurrency.ScatterGatherExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class FlightSupplierRegistry {
+
+    private static final String LATENCY_METRIC = "flight.supplier.search";
+
+    private final List<FlightSupplier> suppliers;
+    private final Map<String, Semaphore> concurrencyLimits;
+    private final ScatterGatherExecutor searchExecutor;
+    private final SupplierFlightCache supplierFlightCache;
+    private final MeterRegistry meterRegistry;
+
+    public FlightSupplierRegistry(List<FlightSupplier> suppliers, ScatterGatherExecutor searchExecutor,
+                                  SupplierFlightCache supplierFlightCache, MeterRegistry meterRegistry) {
+        this.suppliers = List.copyOf(suppliers);
+        this.concurrencyLimits = this.suppliers.stream()
+                .collect(Collectors.toUnmodifiableMap(FlightSupplier::getName, supplier -> new Semaphore(supplier.getMaxConcurrency())));
+        this.searchExecutor = searchExecutor;
+        this.supplierFlightCache = supplierFlightCache;
+        this.meterRegistry = meterRegistry;
+        log.info("Registered flight suppliers: {}", concurrencyLimits.keySet());
+    }
+
+    public List<FlightSupplier> getSuppliers() {
+        return suppliers;
+    }
+
+    public CompletableFuture<List<Flight>> searchAll(FlightSearchCriteria criteria) {
+        List<Flight> mergedFlights = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<?>[] branches = suppliers.stream()
+                .map(supplier -> search(supplier, criteria).thenAccept(mergedFlights::addAll))
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(branches)
+                .thenApply(ignored -> {
+                    synchronized (mergedFlights) {
+                        return new ArrayList<>(mergedFlights);
+                    }
+                });
+    }
+
+    public Flux<Flight> streamAll(FlightSearchCriteria criteria) {
+        return Flux.merge(suppliers.stream()
+                .map(supplier -> stream(supplier, criteria))
+                .collect(Collectors.toList()));
+    }
+
+    private CompletableFuture<List<Flight>> search(FlightSupplier supplier, FlightSearchCriteria criteria) {
+        Semaphore permits = concurrencyLimits.get(supplier.getName());
+        if (!permits.tryAcquire()) {
+            return CompletableFuture.completedFuture(rejected(supplier, criteria));
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<List<Flight>> call;
+        try {
+            call = searchExecutor.supplyAsync(() -> {
+                log.debug("Fetching flights from {}", supplier.getName());
+                return supplier.searchFlights(criteria);
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        // The permit is held until the supplier really returns, even if the search has given up on it
+        call.whenComplete((flights, error) -> permits.release());
+
+        return call.copy()
+                .orTimeout(supplier.getDeadline().toMillis(), TimeUnit.MILLISECONDS)
+                .handle((flights, error) -> {
+                    if (error == null) {
+                        sample.stop(latencyTimer(supplier, "success"));
+                        if (flights == null) {
+                            return List.<Flight>of();
+                        }
+                        supplierFlightCache.putAll(flights);
+                        return flights;
+                    }
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof TimeoutException) {
+                        log.warn("{} missed its {} ms deadline, continuing without it", supplier.getName(), supplier.getDeadline().toMillis());
+                        sample.stop(latencyTimer(supplier, "timeout"));
+                    } else if (cause instanceof SupplierUnavailableException) {
+                        log.warn("{} is unavailable, continuing without it: {}", supplier.getName(), cause.getMessage());
+                        sample.stop(latencyTimer(supplier, "unavailable"));
+                    } else {
+                        log.error("Error fetching flights from {}", supplier.getName(), cause);
+                        sample.stop(latencyTimer(supplier, "error"));
+                    }
+                    return supplier.fallback(criteria, cause);
+                });
+    }
+
+    private Flux<Flight> stream(FlightSupplier supplier, FlightSearchCriteria criteria) {
+        return Flux.defer(() -> {
+            Semaphore permits = concurrencyLimits.get(supplier.getName());
+            if (!permits.tryAcquire()) {
+                return Flux.fromIterable(rejected(supplier, criteria));
+            }
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicReference<String> outcome = new AtomicReference<>("success");
+
+            return supplier.streamFlights(criteria)
+                    .doOnNext(supplierFlightCache::put)
+                    // Flights received before the deadline are kept, the rest of the stream is dropped
+                    .takeUntilOther(Mono.delay(supplier.getDeadline())
+                            .doOnNext(tick -> {
+                                outcome.set("timeout");
+                                log.warn("{} missed its {} ms deadline, returning partial results", supplier.getName(), supplier.getDeadline().toMillis());
+                            }))
+                    .onErrorResume(error -> {
+                        if (error instanceof SupplierUnavailableException) {
+                            outcome.set("unavailable");
+                            log.warn("{} is unavailable, continuing without it: {}", supplier.getName(), error.getMessage());
+                        } else {
+                            outcome.set("error");
+                            log.error("Error streaming flights from {}", supplier.getName(), error);
+                        }
+                        return Flux.fromIterable(supplier.fallback(criteria, error));
+                    })
+                    .doFinally(signal -> {
+                        permits.release();
+                        sample.stop(latencyTimer(supplier, signal == SignalType.CANCEL ? "cancelled" : outcome.get()));
+                    });
+        });
+    }
+
+    private List<Flight> rejected(FlightSupplier supplier, FlightSearchCriteria criteria) {
+        log.warn("{} concurrency limit of {} reached, skipping supplier", supplier.getName(), supplier.getMaxConcurrency());
+        latencyTimer(supplier, "rejected").record(0, TimeUnit.NANOSECONDS);
+        return supplier.fallback(criteria, new ExternalServiceException(
+                "Concurrency limit reached for " + supplier.getName(), supplier.getName(), 503));
+    }
+
+    private Timer latencyTimer(FlightSupplier supplier, String outcome) {
+        return Timer.builder(LATENCY_METRIC)
+                .description("Latency of flight supplier searches")
+                .tag("supplier", supplier.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
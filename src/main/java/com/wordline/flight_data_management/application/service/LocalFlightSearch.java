@@ -0,0 +1,28 @@
+package com.wordline.flight_data_management.application.service;
+
+import com.wordline.flight_data_management.application.port.out.FlightRepository;
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.domain.model.FlightSearchKey;
+import com.wordline.flight_data_management.infrastructure.cache.FlightSearchCache;
+import com.wordline.flight_data_management.infrastructure.concurrency.RequestCoalescer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Stored flights change only through this service's writes, which evict them by route and day, so they are cached
+// for long. Supplier flights follow their own refresh-ahead caches and are merged in by each search path.
+@Component
+@RequiredArgsConstructor
+public class LocalFlightSearch {
+
+    private final FlightRepository flightRepository;
+    private final RequestCoalescer<FlightSearchKey, List<Flight>> searchCoalescer;
+    private final FlightSearchCache flightSearchCache;
+
+    public List<Flight> find(FlightSearchCriteria criteria) {
+        return flightSearchCache.get(criteria,
+                key -> searchCoalescer.execute(key, () -> flightRepository.findByCriteria(key.toCriteria())));
+    }
+}
@@ -0,0 +1,38 @@
+package com.wordline.flight_data_management.application.service;
+
+import com.wordline.flight_data_management.application.port.in.ReactiveFlightService;
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.domain.model.FlightSearchKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveFlightServiceImpl implements ReactiveFlightService {
+
+    private final LocalFlightSearch localFlightSearch;
+    private final FlightSupplierRegistry flightSupplierRegistry;
+
+    // Answers from the same search cache, coalescer and supplier caches as the blocking search, so both
+    // return the same flights for the same canonical search
+    @Override
+    public Flux<Flight> searchFlights(FlightSearchCriteria criteria) {
+        log.debug("Reactively searching flights with criteria: {}", criteria);
+
+        // A cache miss loads through blocking JPA, so the lookup is moved off the event loop
+        Flux<Flight> localFlights = Mono.fromCallable(() -> localFlightSearch.find(criteria))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(flights -> flights);
+
+        // Suppliers stream live only when their cache has no answer for the route and day
+        Flux<Flight> supplierFlights = flightSupplierRegistry.streamAll(FlightSearchKey.from(criteria).toCriteria());
+
+        return Flux.merge(localFlights, supplierFlights);
+    }
+}
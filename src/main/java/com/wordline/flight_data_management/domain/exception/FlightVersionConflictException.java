@@ -0,0 +1,14 @@
+package com.wordline.flight_data_management.domain.exception;
+
+import java.util.UUID;
+
+public class FlightVersionConflictException extends FlightDataManagementException {
+
+    public FlightVersionConflictException(String message) {
+        super(message);
+    }
+
+    public static FlightVersionConflictException withId(UUID id, long expectedVersion) {
+        return new FlightVersionConflictException("Flight " + id + " is no longer at version " + expectedVersion);
+    }
+}
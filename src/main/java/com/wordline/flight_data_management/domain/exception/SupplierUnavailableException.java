@@ -0,0 +1,9 @@
+package com.wordline.flight_data_management.domain.exception;
+
+// Raised without calling the supplier at all, so retrying it immediately cannot help
+public class SupplierUnavailableException extends ExternalServiceException {
+
+    public SupplierUnavailableException(String message, String serviceName) {
+        super(message, serviceName, 503);
+    }
+}
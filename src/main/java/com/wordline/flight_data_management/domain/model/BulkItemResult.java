@@ -0,0 +1,28 @@
+package com.wordline.flight_data_management.domain.model;
+
+import java.util.UUID;
+
+// index is the item's position in the bulk request, message is null for successful items
+public record BulkItemResult(int index, UUID id, Outcome outcome, String message) {
+
+    public enum Outcome {
+        CREATED,
+        UPDATED,
+        DELETED,
+        NOT_FOUND,
+        CONFLICT,
+        FAILED
+    }
+
+    public static BulkItemResult succeeded(int index, UUID id, Outcome outcome) {
+        return new BulkItemResult(index, id, outcome, null);
+    }
+
+    public static BulkItemResult failed(int index, UUID id, Outcome outcome, String message) {
+        return new BulkItemResult(index, id, outcome, message);
+    }
+
+    public boolean isSuccess() {
+        return outcome == Outcome.CREATED || outcome == Outcome.UPDATED || outcome == Outcome.DELETED;
+    }
+}
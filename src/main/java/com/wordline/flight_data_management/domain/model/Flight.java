@@ -22,4 +22,6 @@ public class Flight {
     private String destinationAirport;
     private ZonedDateTime departureTime;
     private ZonedDateTime arrivalTime;
+    // Incremented on every write, null for flights that are not stored here
+    private Long version;
 }
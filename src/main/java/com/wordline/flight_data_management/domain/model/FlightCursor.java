@@ -0,0 +1,12 @@
+package com.wordline.flight_data_management.domain.model;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+// Position after the last flight of a page in (departureTime, id) order
+public record FlightCursor(ZonedDateTime departureTime, UUID id) {
+
+    public static FlightCursor after(Flight flight) {
+        return new FlightCursor(flight.getDepartureTime(), flight.getId());
+    }
+}
@@ -0,0 +1,7 @@
+package com.wordline.flight_data_management.domain.model;
+
+import java.util.List;
+
+// nextCursor is null on the last page
+public record FlightPage(List<Flight> flights, FlightCursor nextCursor) {
+}
@@ -0,0 +1,30 @@
+package com.wordline.flight_data_management.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+// Null fields are left unchanged
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightPatch {
+    private String airline;
+    private String supplier;
+    private BigDecimal fare;
+    private String departureAirport;
+    private String destinationAirport;
+    private ZonedDateTime departureTime;
+    private ZonedDateTime arrivalTime;
+
+    public boolean isEmpty() {
+        return airline == null && supplier == null && fare == null
+                && departureAirport == null && destinationAirport == null
+                && departureTime == null && arrivalTime == null;
+    }
+}
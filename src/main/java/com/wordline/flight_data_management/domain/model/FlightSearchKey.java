@@ -0,0 +1,58 @@
+package com.wordline.flight_data_management.domain.model;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Locale;
+
+// Holds only what a search actually queries: airport codes in one case and the calendar days of the requested times
+public record FlightSearchKey(
+        String departureAirport,
+        String destinationAirport,
+        String airline,
+        LocalDate departureDay,
+        LocalDate arrivalDay) {
+
+    public static FlightSearchKey from(FlightSearchCriteria criteria) {
+        if (criteria == null) {
+            return new FlightSearchKey(null, null, null, null, null);
+        }
+
+        return new FlightSearchKey(
+                airportCode(criteria.getDepartureAirport()),
+                airportCode(criteria.getDestinationAirport()),
+                blankToNull(criteria.getAirline()),
+                criteria.getDepartureTime() == null ? null : criteria.getDepartureTime().toLocalDate(),
+                criteria.getArrivalTime() == null ? null : criteria.getArrivalTime().toLocalDate());
+    }
+
+    // Every criteria with this key searches exactly like these ones
+    public FlightSearchCriteria toCriteria() {
+        return FlightSearchCriteria.builder()
+                .departureAirport(departureAirport)
+                .destinationAirport(destinationAirport)
+                .airline(airline)
+                .departureTime(departureDay == null ? null : departureDay.atStartOfDay(ZoneOffset.UTC))
+                .arrivalTime(arrivalDay == null ? null : arrivalDay.atStartOfDay(ZoneOffset.UTC))
+                .build();
+    }
+
+    // A requested time only names its calendar date, and matches the flights within that date taken as a UTC day.
+    // The database query and both in-memory read models search this same window, end exclusive.
+    public static ZonedDateTime dayStart(ZonedDateTime requested) {
+        return requested.toLocalDate().atStartOfDay(ZoneOffset.UTC);
+    }
+
+    public static ZonedDateTime dayEnd(ZonedDateTime requested) {
+        return dayStart(requested).plusDays(1);
+    }
+
+    private static String airportCode(String value) {
+        String code = blankToNull(value);
+        return code == null ? null : code.toUpperCase(Locale.ROOT);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.strip();
+    }
+}
@@ -0,0 +1,146 @@
+package com.wordline.flight_data_management.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchKey;
+import com.wordline.flight_data_management.infrastructure.concurrency.ScatterGatherExecutor;
+import com.wordline.flight_data_management.infrastructure.external.model.CrazySupplierRequest;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    @Value("${flight.cache.by-id.max-size:8MB}")
+    private DataSize byIdMaxSize;
+
+    @Value("${flight.cache.by-id.ttl:300s}")
+    private Duration byIdTtl;
+
+    @Value("${flight.cache.search.max-size:32MB}")
+    private DataSize searchMaxSize;
+
+    @Value("${flight.cache.search.ttl:300s}")
+    private Duration searchTtl;
+
+    @Value("${flight.cache.supplier-search.max-size:32MB}")
+    private DataSize supplierSearchMaxSize;
+
+    @Value("${flight.cache.supplier-search.ttl:300s}")
+    private Duration supplierSearchTtl;
+
+    @Value("${flight.cache.supplier-search.soft-ttl:60s}")
+    private Duration supplierSearchSoftTtl;
+
+    @Value("${flight.cache.supplier-search.grace-period:300s}")
+    private Duration supplierSearchGracePeriod;
+
+    @Value("${flight.cache.supplier-flight.max-size:16MB}")
+    private DataSize supplierFlightMaxSize;
+
+    @Value("${flight.cache.supplier-flight.ttl:300s}")
+    private Duration supplierFlightTtl;
+
+    @Value("${flight.cache.encoded-response.enabled:false}")
+    private boolean encodedResponseEnabled;
+
+    @Value("${flight.cache.encoded-response.max-size:32MB}")
+    private DataSize encodedResponseMaxSize;
+
+    @Value("${flight.cache.encoded-response.ttl:300s}")
+    private Duration encodedResponseTtl;
+
+    @Bean
+    public SearchCacheIndex searchCacheIndex() {
+        return new SearchCacheIndex();
+    }
+
+    @Bean
+    public CacheManager cacheManager(SearchCacheIndex searchCacheIndex) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the caches registered below exist, unknown names are not created on the fly
+        cacheManager.setCacheNames(List.of());
+        // A cached miss would hide a flight created through another instance until it expires
+        cacheManager.setAllowNullValues(false);
+        // Encoded bodies share their key with the domain entry they were built from and leave together with it
+        Cache<Object, Object> encodedResponses = buildCache(encodedResponseMaxSize, encodedResponseTtl);
+        cacheManager.registerCustomCache(CacheNames.ENCODED_RESPONSE, encodedResponses);
+        cacheManager.registerCustomCache(CacheNames.FLIGHT_BY_ID, buildCache(byIdMaxSize, byIdTtl,
+                (key, value, cause) -> encodedResponses.invalidate(key)));
+        // Searches cache stored flights only, supplier flights are merged from the supplier caches on every request
+        cacheManager.registerCustomCache(CacheNames.FLIGHT_SEARCH, buildCache(searchMaxSize, searchTtl,
+                (key, value, cause) -> searchCacheIndex.remove((FlightSearchKey) key, value)));
+        // Supplier results outlive their hard TTL by the grace period so they can be served while the supplier is failing
+        cacheManager.registerCustomCache(CacheNames.SUPPLIER_SEARCH,
+                buildCache(supplierSearchMaxSize, supplierSearchTtl.plus(supplierSearchGracePeriod)));
+        cacheManager.registerCustomCache(CacheNames.SUPPLIER_FLIGHT, buildCache(supplierFlightMaxSize, supplierFlightTtl));
+        return cacheManager;
+    }
+
+    @Bean
+    public FlightSearchCache flightSearchCache(CacheManager cacheManager, SearchCacheIndex searchCacheIndex,
+                                               MeterRegistry meterRegistry) {
+        CaffeineCache flightSearch = (CaffeineCache) cacheManager.getCache(CacheNames.FLIGHT_SEARCH);
+        FlightSearchCache flightSearchCache = new FlightSearchCache(flightSearch.getNativeCache(), searchCacheIndex,
+                meterRegistry);
+        Gauge.builder("flight.cache.search.indexed-keys", flightSearchCache, FlightSearchCache::getIndexedKeyCount)
+                .description("Cached searches reachable from the route index")
+                .register(meterRegistry);
+        return flightSearchCache;
+    }
+
+    @Bean
+    public SupplierFlightCache supplierFlightCache(CacheManager cacheManager) {
+        CaffeineCache supplierFlights = (CaffeineCache) cacheManager.getCache(CacheNames.SUPPLIER_FLIGHT);
+        return new SupplierFlightCache(supplierFlights.getNativeCache());
+    }
+
+    @Bean
+    public EncodedResponseCache encodedResponseCache(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        CaffeineCache encodedResponses = (CaffeineCache) cacheManager.getCache(CacheNames.ENCODED_RESPONSE);
+        return new EncodedResponseCache(encodedResponses.getNativeCache(), encodedResponseEnabled, meterRegistry);
+    }
+
+    @Bean
+    public RefreshAheadCache<CrazySupplierRequest, List<Flight>> supplierSearchCache(CacheManager cacheManager,
+                                                                                   ScatterGatherExecutor searchExecutor,
+                                                                                   MeterRegistry meterRegistry) {
+        CaffeineCache supplierSearch = (CaffeineCache) cacheManager.getCache(CacheNames.SUPPLIER_SEARCH);
+        return new RefreshAheadCache<>(
+                CacheNames.SUPPLIER_SEARCH,
+                supplierSearch.getNativeCache(),
+                supplierSearchSoftTtl,
+                supplierSearchTtl,
+                supplierSearchGracePeriod,
+                searchExecutor::runAsync,
+                System::nanoTime,
+                meterRegistry);
+    }
+
+    private Cache<Object, Object> buildCache(DataSize maxSize, Duration ttl) {
+        return buildCache(maxSize, ttl, (key, value, cause) -> {
+        });
+    }
+
+    private Cache<Object, Object> buildCache(DataSize maxSize, Duration ttl, RemovalListener<Object, Object> removalListener) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher(new CacheEntryWeigher())
+                .expireAfterWrite(ttl)
+                .removalListener(removalListener)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.wordline.flight_data_management.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.springframework.cache.support.NullValue;
+
+import java.util.Collection;
+
+public class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    // Approximate retained heap of one cache entry and of one flight (UUID, strings, BigDecimal, two ZonedDateTimes)
+    static final int ENTRY_OVERHEAD_BYTES = 128;
+    static final int FLIGHT_BYTES = 560;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long weight = ENTRY_OVERHEAD_BYTES;
+        if (value instanceof RefreshAheadCache.Timestamped<?> timestamped) {
+            value = timestamped.value();
+        }
+        if (value instanceof EncodedResponseCache.Entry entry) {
+            // The source is shared with the domain cache, only the encoded body is retained for this entry
+            weight += entry.response().body().length;
+        } else if (value instanceof Collection<?> collection) {
+            weight += (long) collection.size() * FLIGHT_BYTES;
+        } else if (value != null && !(value instanceof NullValue)) {
+            weight += FLIGHT_BYTES;
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+}
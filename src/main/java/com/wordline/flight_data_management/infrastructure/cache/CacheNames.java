@@ -0,0 +1,13 @@
+package com.wordline.flight_data_management.infrastructure.cache;
+
+public final class CacheNames {
+
+    public static final String FLIGHT_BY_ID = "flightById";
+    public static final String FLIGHT_SEARCH = "flightSearch";
+    public static final String SUPPLIER_SEARCH = "supplierSearch";
+    public static final String SUPPLIER_FLIGHT = "supplierFlight";
+    public static final String ENCODED_RESPONSE = "encodedResponse";
+
+    private CacheNames() {
+    }
+}
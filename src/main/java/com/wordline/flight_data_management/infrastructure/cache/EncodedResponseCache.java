@@ -0,0 +1,59 @@
+package com.wordline.flight_data_management.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.function.Supplier;
+
+public class EncodedResponseCache {
+
+    private static final String METRIC_NAME = "flight.cache.encoded-response";
+
+    public record EncodedResponse(String eTag, byte[] body) {
+    }
+
+    // Source is the domain cache value the body was encoded from
+    record Entry(Object source, EncodedResponse response) {
+    }
+
+    private final Cache<Object, Object> cache;
+    private final boolean enabled;
+    private final Counter hits;
+    private final Counter misses;
+
+    public EncodedResponseCache(Cache<Object, Object> cache, boolean enabled, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.enabled = enabled;
+        this.hits = counter("hit", meterRegistry);
+        this.misses = counter("miss", meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // A body is served only while the domain cache still hands out the very instance it was encoded from,
+    // so a write that replaced or evicted that value can never be answered with the old bytes
+    public EncodedResponse get(Object key, Object source, Supplier<EncodedResponse> encoder) {
+        if (cache.getIfPresent(key) instanceof Entry entry && entry.source() == source) {
+            hits.increment();
+            return entry.response();
+        }
+
+        misses.increment();
+        EncodedResponse response = encoder.get();
+        cache.put(key, new Entry(source, response));
+        return response;
+    }
+
+    public void evict(Object key) {
+        cache.invalidate(key);
+    }
+
+    private static Counter counter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder(METRIC_NAME)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
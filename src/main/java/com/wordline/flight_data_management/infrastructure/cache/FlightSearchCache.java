@@ -0,0 +1,107 @@
+package com.wordline.flight_data_management.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.domain.model.FlightSearchKey;
+import com.wordline.flight_data_management.infrastructure.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Slf4j
+public class FlightSearchCache {
+
+    private static final String METRIC_NAME = "flight.cache.search.requests";
+
+    private final Cache<Object, Object> cache;
+    private final SearchCacheIndex index;
+    private final Counter hits;
+    private final Counter normalizedHits;
+    private final Counter misses;
+    private final Counter normalizedMisses;
+
+    public FlightSearchCache(Cache<Object, Object> cache, SearchCacheIndex index, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.index = index;
+        this.hits = counter("hit", false, meterRegistry);
+        this.normalizedHits = counter("hit", true, meterRegistry);
+        this.misses = counter("miss", false, meterRegistry);
+        this.normalizedMisses = counter("miss", true, meterRegistry);
+    }
+
+    // Searches are cached under their canonical key and loaded with the canonical criteria, so every request
+    // asking the same question shares one entry. Hits on normalized criteria are those a raw key could have missed.
+    @SuppressWarnings("unchecked")
+    public List<Flight> get(FlightSearchCriteria criteria, Function<FlightSearchKey, List<Flight>> loader) {
+        FlightSearchKey key = FlightSearchKey.from(criteria);
+        boolean normalized = criteria != null && !key.toCriteria().equals(criteria);
+        List<Flight> cached = (List<Flight>) cache.getIfPresent(key);
+        if (cached != null) {
+            (normalized ? normalizedHits : hits).increment();
+            return cached;
+        }
+        (normalized ? normalizedMisses : misses).increment();
+
+        // The key is indexed before loading so a write committed mid-load keeps the result out of the cache
+        SearchCacheIndex.Registration registration = index.register(key);
+        List<Flight> flights;
+        try {
+            flights = loader.apply(key);
+        } catch (RuntimeException e) {
+            index.abandon(key, registration);
+            throw e;
+        }
+
+        if (flights == null) {
+            index.abandon(key, registration);
+        } else if (index.attach(key, registration, flights)) {
+            cache.put(key, flights);
+            if (registration.isInvalidated()) {
+                cache.asMap().remove(key, flights);
+            }
+        }
+        return flights;
+    }
+
+    public void evictAffectedBy(Flight... flights) {
+        // Evicting before commit would let a concurrent search cache the old rows again
+        TransactionCallbacks.afterCommit(() -> evict(flights));
+    }
+
+    // For writes that do not read the previous version: drops every search that returned one of the flights
+    public void evictContaining(UUID... flightIds) {
+        TransactionCallbacks.afterCommit(() -> {
+            Set<FlightSearchKey> affected = index.invalidateContaining(Arrays.asList(flightIds));
+            cache.invalidateAll(affected);
+            log.debug("Evicted {} cached searches containing {} written flights", affected.size(), flightIds.length);
+        });
+    }
+
+    public int getIndexedKeyCount() {
+        return index.size();
+    }
+
+    private void evict(Flight... flights) {
+        Set<FlightSearchKey> affected = new HashSet<>();
+        for (Flight flight : flights) {
+            affected.addAll(index.invalidate(flight));
+        }
+        cache.invalidateAll(affected);
+        log.debug("Evicted {} cached searches affected by a flight write", affected.size());
+    }
+
+    private static Counter counter(String result, boolean normalized, MeterRegistry meterRegistry) {
+        return Counter.builder(METRIC_NAME)
+                .tag("result", result)
+                .tag("normalized", String.valueOf(normalized))
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,134 @@
+package com.wordline.flight_data_management.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+@Slf4j
+public class RefreshAheadCache<K, V> {
+
+    private static final String METRIC_NAME = "flight.cache.refresh-ahead";
+
+    public record Timestamped<V>(V value, long loadedAtNanos) {
+    }
+
+    private final Cache<Object, Object> cache;
+    private final long softTtlNanos;
+    private final long hardTtlNanos;
+    private final long gracePeriodNanos;
+    private final Executor refreshExecutor;
+    private final LongSupplier nanoClock;
+    private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final Counter freshHits;
+    private final Counter staleHits;
+    private final Counter graceHits;
+    private final Counter loads;
+    private final Counter refreshFailures;
+
+    public RefreshAheadCache(String name, Cache<Object, Object> cache, Duration softTtl, Duration hardTtl, Duration gracePeriod,
+                             Executor refreshExecutor, LongSupplier nanoClock, MeterRegistry meterRegistry) {
+        if (softTtl.compareTo(hardTtl) > 0) {
+            throw new IllegalArgumentException("Soft TTL " + softTtl + " must not exceed hard TTL " + hardTtl);
+        }
+        this.cache = cache;
+        this.softTtlNanos = softTtl.toNanos();
+        this.hardTtlNanos = hardTtl.toNanos();
+        this.gracePeriodNanos = gracePeriod.toNanos();
+        this.refreshExecutor = refreshExecutor;
+        this.nanoClock = nanoClock;
+        this.freshHits = counter(name, "fresh", meterRegistry);
+        this.staleHits = counter(name, "stale", meterRegistry);
+        this.graceHits = counter(name, "grace", meterRegistry);
+        this.loads = counter(name, "load", meterRegistry);
+        this.refreshFailures = counter(name, "refresh-failure", meterRegistry);
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        Timestamped<V> entry = lookup(key);
+        long age = entry == null ? Long.MAX_VALUE : nanoClock.getAsLong() - entry.loadedAtNanos();
+
+        if (age < softTtlNanos) {
+            freshHits.increment();
+            return entry.value();
+        }
+        if (age < hardTtlNanos) {
+            staleHits.increment();
+            refreshInBackground(key, loader);
+            return entry.value();
+        }
+
+        loads.increment();
+        try {
+            return load(key, loader);
+        } catch (RuntimeException e) {
+            if (age < hardTtlNanos + gracePeriodNanos) {
+                log.warn("Reload of {} failed, serving last good result for up to the grace period", key, e);
+                graceHits.increment();
+                return entry.value();
+            }
+            throw e;
+        }
+    }
+
+    public Optional<V> getIfPresent(K key) {
+        Timestamped<V> entry = lookup(key);
+        if (entry == null || nanoClock.getAsLong() - entry.loadedAtNanos() >= hardTtlNanos) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entry.value());
+    }
+
+    public void invalidate(K key) {
+        cache.invalidate(key);
+    }
+
+    private V load(K key, Supplier<V> loader) {
+        V value = loader.get();
+        cache.put(key, new Timestamped<>(value, nanoClock.getAsLong()));
+        return value;
+    }
+
+    private void refreshInBackground(K key, Supplier<V> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, loader);
+                } catch (RuntimeException e) {
+                    refreshFailures.increment();
+                    log.warn("Background refresh of {} failed, keeping the cached result", key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            log.warn("Background refresh of {} rejected", key, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Timestamped<V> lookup(K key) {
+        return (Timestamped<V>) cache.getIfPresent(key);
+    }
+
+    private static Counter counter(String name, String result, MeterRegistry meterRegistry) {
+        return Counter.builder(METRIC_NAME)
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
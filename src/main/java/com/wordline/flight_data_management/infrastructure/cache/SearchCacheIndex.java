@@ -0,0 +1,200 @@
+package com.wordline.flight_data_management.infrastructure.cache;
+
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchKey;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SearchCacheIndex {
+
+    private static final ZoneId UTC_ZONE = ZoneId.of("UTC");
+
+    private final Map<RouteDay, Set<FlightSearchKey>> keysByRoute = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<FlightSearchKey>> keysByFlight = new ConcurrentHashMap<>();
+    private final Map<FlightSearchKey, Registration> registrations = new ConcurrentHashMap<>();
+
+    // A null field matches any value, like an empty search criterion
+    private record RouteDay(String departureAirport, String destinationAirport, LocalDate departureDay) {
+    }
+
+    public static final class Registration {
+
+        private volatile List<Flight> value;
+        private volatile boolean invalidated;
+
+        public boolean isInvalidated() {
+            return invalidated;
+        }
+    }
+
+    public Registration register(FlightSearchKey key) {
+        Registration registration = new Registration();
+        registrations.compute(key, (k, previous) -> {
+            if (previous != null) {
+                unlinkFlights(k, previous.value);
+            }
+            link(k);
+            return registration;
+        });
+        return registration;
+    }
+
+    public boolean attach(FlightSearchKey key, Registration registration, List<Flight> value) {
+        Registration current = registrations.computeIfPresent(key, (k, existing) -> {
+            if (existing != registration) {
+                return existing;
+            }
+            if (existing.invalidated) {
+                unlink(k, null);
+                return null;
+            }
+            existing.value = value;
+            linkFlights(k, value);
+            return existing;
+        });
+        return current == registration;
+    }
+
+    public void abandon(FlightSearchKey key, Registration registration) {
+        registrations.computeIfPresent(key, (k, existing) -> {
+            if (existing != registration) {
+                return existing;
+            }
+            unlink(k, existing.value);
+            return null;
+        });
+    }
+
+    public void remove(FlightSearchKey key, Object value) {
+        // Only the registration that produced this value is dropped, a newer load of the same key stays indexed
+        registrations.computeIfPresent(key, (k, existing) -> {
+            if (existing.value != value) {
+                return existing;
+            }
+            unlink(k, existing.value);
+            return null;
+        });
+    }
+
+    public Set<FlightSearchKey> invalidate(Flight flight) {
+        Set<FlightSearchKey> affected = new HashSet<>();
+        for (RouteDay route : routesOf(flight)) {
+            Set<FlightSearchKey> keys = keysByRoute.getOrDefault(route, Collections.emptySet());
+            for (FlightSearchKey key : keys) {
+                registrations.computeIfPresent(key, (k, existing) -> {
+                    existing.invalidated = true;
+                    return existing;
+                });
+                affected.add(key);
+            }
+        }
+        return affected;
+    }
+
+    // Catches the searches that returned a flight whose old route is no longer known.
+    // Loads still in flight cannot be checked yet, so they are all marked, and before the lookup by flight:
+    // a load attaching after its mark is rejected, one attaching before it is already linked to the flight.
+    public Set<FlightSearchKey> invalidateContaining(Collection<UUID> flightIds) {
+        Set<FlightSearchKey> affected = new HashSet<>();
+        for (FlightSearchKey key : registrations.keySet()) {
+            registrations.computeIfPresent(key, (k, existing) -> {
+                if (existing.value == null) {
+                    existing.invalidated = true;
+                    affected.add(k);
+                }
+                return existing;
+            });
+        }
+        for (UUID flightId : flightIds) {
+            for (FlightSearchKey key : keysByFlight.getOrDefault(flightId, Collections.emptySet())) {
+                registrations.computeIfPresent(key, (k, existing) -> {
+                    existing.invalidated = true;
+                    return existing;
+                });
+                affected.add(key);
+            }
+        }
+        return affected;
+    }
+
+    public int size() {
+        return registrations.size();
+    }
+
+    private void link(FlightSearchKey key) {
+        keysByRoute.compute(routeOf(key), (route, keys) -> {
+            Set<FlightSearchKey> linked = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+            linked.add(key);
+            return linked;
+        });
+    }
+
+    private void unlink(FlightSearchKey key, List<Flight> value) {
+        keysByRoute.computeIfPresent(routeOf(key), (route, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+        unlinkFlights(key, value);
+    }
+
+    private void unlinkFlights(FlightSearchKey key, List<Flight> value) {
+        if (value == null) {
+            return;
+        }
+        for (Flight flight : value) {
+            if (flight.getId() != null) {
+                keysByFlight.computeIfPresent(flight.getId(), (id, keys) -> {
+                    keys.remove(key);
+                    return keys.isEmpty() ? null : keys;
+                });
+            }
+        }
+    }
+
+    private void linkFlights(FlightSearchKey key, List<Flight> value) {
+        for (Flight flight : value) {
+            if (flight.getId() != null) {
+                keysByFlight.computeIfAbsent(flight.getId(), id -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+        }
+    }
+
+    private static RouteDay routeOf(FlightSearchKey key) {
+        return new RouteDay(key.departureAirport(), key.destinationAirport(), key.departureDay());
+    }
+
+    // Every bucket whose searches can contain the flight: each field either matches the flight or is a wildcard
+    private static Set<RouteDay> routesOf(Flight flight) {
+        LocalDate departureDay = flight.getDepartureTime() == null
+                ? null
+                : flight.getDepartureTime().withZoneSameInstant(UTC_ZONE).toLocalDate();
+
+        Set<RouteDay> routes = new HashSet<>();
+        for (String departureAirport : withWildcard(blankToNull(flight.getDepartureAirport()))) {
+            for (String destinationAirport : withWildcard(blankToNull(flight.getDestinationAirport()))) {
+                for (LocalDate day : withWildcard(departureDay)) {
+                    routes.add(new RouteDay(departureAirport, destinationAirport, day));
+                }
+            }
+        }
+        return routes;
+    }
+
+    private static <T> List<T> withWildcard(T value) {
+        return value == null ? Collections.singletonList(null) : Arrays.asList(value, null);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
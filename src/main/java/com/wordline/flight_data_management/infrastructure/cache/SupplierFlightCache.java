@@ -0,0 +1,32 @@
+package com.wordline.flight_data_management.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.wordline.flight_data_management.domain.model.Flight;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+// Supplier flights are never stored, this keeps the ones recently returned by a search reachable by their id
+public class SupplierFlightCache {
+
+    private final Cache<Object, Object> cache;
+
+    public SupplierFlightCache(Cache<Object, Object> cache) {
+        this.cache = cache;
+    }
+
+    public void put(Flight flight) {
+        if (flight.getId() != null) {
+            cache.put(flight.getId(), flight);
+        }
+    }
+
+    public void putAll(Collection<Flight> flights) {
+        flights.forEach(this::put);
+    }
+
+    public Optional<Flight> get(UUID id) {
+        return Optional.ofNullable((Flight) cache.getIfPresent(id));
+    }
+}
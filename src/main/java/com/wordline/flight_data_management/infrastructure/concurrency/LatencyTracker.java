@@ -0,0 +1,73 @@
+package com.wordline.flight_data_management.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Percentiles over the last windowSize latencies. The sorted copy is only rebuilt every few samples,
+// so reading a percentile on each request does not sort the window each time
+public class LatencyTracker {
+
+    private static final String METRIC_NAME = "flight.latency.percentile";
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+    private final int minSamples;
+    private final int refreshInterval;
+    private volatile Snapshot snapshot = new Snapshot(0, new long[0]);
+
+    public LatencyTracker(String name, int windowSize, int minSamples, MeterRegistry meterRegistry) {
+        this.samples = new AtomicLongArray(windowSize);
+        this.minSamples = minSamples;
+        this.refreshInterval = Math.max(1, windowSize / 16);
+        for (double percentile : new double[]{0.5, 0.95, 0.99}) {
+            Gauge.builder(METRIC_NAME, this, tracker -> tracker.getPercentile(percentile)
+                            .map(latency -> (double) latency.toNanos() / TimeUnit.MILLISECONDS.toNanos(1))
+                            .orElse(Double.NaN))
+                    .description("Recent latency percentiles in milliseconds")
+                    .tag("name", name)
+                    .tag("percentile", String.valueOf(percentile))
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    public void record(Duration latency) {
+        long index = recorded.getAndIncrement();
+        samples.set((int) (index % samples.length()), latency.toNanos());
+    }
+
+    public Optional<Duration> getPercentile(double percentile) {
+        long[] sorted = sortedSamples();
+        if (sorted.length < minSamples || sorted.length == 0) {
+            return Optional.empty();
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return Optional.of(Duration.ofNanos(sorted[Math.min(Math.max(index, 0), sorted.length - 1)]));
+    }
+
+    private long[] sortedSamples() {
+        long count = recorded.get();
+        Snapshot current = snapshot;
+        if (count == current.count()
+                || (count - current.count() < refreshInterval && current.sorted().length >= minSamples)) {
+            return current.sorted();
+        }
+        long[] sorted = new long[(int) Math.min(count, samples.length())];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        snapshot = new Snapshot(count, sorted);
+        return sorted;
+    }
+
+    private record Snapshot(long count, long[] sorted) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.wordline.flight_data_management.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+public class RequestCoalescer<K, V> {
+
+    private static final String METRIC_NAME = "flight.coalescer.requests";
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final UnaryOperator<V> share;
+    private final Counter led;
+    private final Counter joined;
+
+    public RequestCoalescer(String name, MeterRegistry meterRegistry) {
+        this(name, UnaryOperator.identity(), meterRegistry);
+    }
+
+    // Every caller of one computation gets the same value, share turns it into one they can safely hold together
+    public RequestCoalescer(String name, UnaryOperator<V> share, MeterRegistry meterRegistry) {
+        this.share = share;
+        // The share of joined calls is the work coalescing saves
+        this.led = counter(name, "led", "Calls that ran the computation themselves", meterRegistry);
+        this.joined = counter(name, "joined", "Calls that waited on an identical in-flight computation", meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            joined.increment();
+            return await(existing);
+        }
+
+        led.increment();
+        try {
+            V computed = computation.get();
+            V value = computed == null ? null : share.apply(computed);
+            pending.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter counter(String name, String outcome, String description, MeterRegistry meterRegistry) {
+        return Counter.builder(METRIC_NAME)
+                .description(description)
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.wordline.flight_data_management.infrastructure.concurrency;
+
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchKey;
+import com.wordline.flight_data_management.infrastructure.external.model.CrazySupplierRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class RequestCoalescerConfig {
+
+    @Bean
+    public RequestCoalescer<FlightSearchKey, List<Flight>> searchCoalescer(MeterRegistry meterRegistry) {
+        return new RequestCoalescer<>("flight-search", List::copyOf, meterRegistry);
+    }
+
+    @Bean
+    public RequestCoalescer<CrazySupplierRequest, List<Flight>> crazySupplierCoalescer(MeterRegistry meterRegistry) {
+        return new RequestCoalescer<>("crazy-supplier", List::copyOf, meterRegistry);
+    }
+}
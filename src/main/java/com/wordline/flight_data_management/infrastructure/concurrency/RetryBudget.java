@@ -0,0 +1,62 @@
+package com.wordline.flight_data_management.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Every request earns a fraction of a retry and every retry spends a whole one, so retries stay a
+// bounded share of recent traffic instead of multiplying it while the downstream service is failing
+public class RetryBudget {
+
+    private static final String METRIC_NAME = "flight.retry.budget";
+    private static final long SCALE = 1_000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+    private final Counter granted;
+    private final Counter denied;
+
+    public RetryBudget(String name, double retryRatio, int maxRetries, MeterRegistry meterRegistry) {
+        this.deposit = Math.round(retryRatio * SCALE);
+        this.capacity = maxRetries * SCALE;
+        this.balance = new AtomicLong(capacity);
+        this.granted = counter(name, "granted", "Retries allowed by the budget", meterRegistry);
+        this.denied = counter(name, "denied", "Retries refused because the budget was spent", meterRegistry);
+        Gauge.builder(METRIC_NAME + ".available", this, RetryBudget::getAvailableRetries)
+                .description("Retries the budget would currently allow")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public void recordRequest() {
+        balance.accumulateAndGet(deposit, (current, added) -> Math.min(current + added, capacity));
+    }
+
+    public boolean tryRetry() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                denied.increment();
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        granted.increment();
+        return true;
+    }
+
+    public double getAvailableRetries() {
+        return (double) balance.get() / SCALE;
+    }
+
+    private static Counter counter(String name, String result, String description, MeterRegistry meterRegistry) {
+        return Counter.builder(METRIC_NAME)
+                .description(description)
+                .tag("name", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
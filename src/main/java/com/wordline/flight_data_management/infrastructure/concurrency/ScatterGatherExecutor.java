@@ -0,0 +1,115 @@
+package com.wordline.flight_data_management.infrastructure.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Slf4j
+public class ScatterGatherExecutor implements AutoCloseable {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final ExecutorService delegate;
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+    private final AtomicInteger activeTasks = new AtomicInteger();
+
+    public ScatterGatherExecutor(ExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    public static ScatterGatherExecutor virtualThreadPerTask(String threadNamePrefix) {
+        ThreadFactory threadFactory = Thread.ofVirtual().name(threadNamePrefix, 0).factory();
+        return new ScatterGatherExecutor(Executors.newThreadPerTaskExecutor(threadFactory));
+    }
+
+    public static ScatterGatherExecutor boundedPlatformPool(String threadNamePrefix, int poolSize, int queueCapacity) {
+        ThreadFactory threadFactory = Thread.ofPlatform().name(threadNamePrefix, 0).daemon(true).factory();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory,
+                // A saturated pool degrades to running the branch on the caller instead of failing the search.
+                // CallerRunsPolicy would silently drop the task of a shut-down pool and leave its future pending forever
+                (task, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("Search executor " + threadNamePrefix + " has been shut down");
+                    }
+                    task.run();
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return new ScatterGatherExecutor(pool);
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        Map<String, String> callerContext = MDC.getCopyOfContextMap();
+        queuedTasks.incrementAndGet();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queuedTasks.decrementAndGet();
+                activeTasks.incrementAndGet();
+                Map<String, String> previousContext = MDC.getCopyOfContextMap();
+                restoreContext(callerContext);
+                try {
+                    return task.get();
+                } finally {
+                    restoreContext(previousContext);
+                    activeTasks.decrementAndGet();
+                }
+            }, delegate);
+        } catch (RejectedExecutionException e) {
+            queuedTasks.decrementAndGet();
+            throw e;
+        }
+    }
+
+    public CompletableFuture<Void> runAsync(Runnable task) {
+        return supplyAsync(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public int getQueuedTasks() {
+        return queuedTasks.get();
+    }
+
+    public int getActiveTasks() {
+        return activeTasks.get();
+    }
+
+    @Override
+    public void close() {
+        delegate.shutdown();
+        try {
+            if (!delegate.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Search executor did not terminate within {}s, forcing shutdown", SHUTDOWN_TIMEOUT_SECONDS);
+                delegate.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            delegate.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void restoreContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
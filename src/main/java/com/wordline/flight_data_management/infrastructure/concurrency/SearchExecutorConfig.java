@@ -0,0 +1,45 @@
+package com.wordline.flight_data_management.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SearchExecutorConfig {
+
+    private static final String THREAD_NAME_PREFIX = "flight-search-";
+
+    public enum Mode {
+        VIRTUAL,
+        PLATFORM
+    }
+
+    @Value("${flight.search.executor.mode:VIRTUAL}")
+    private Mode mode;
+
+    @Value("${flight.search.executor.pool-size:32}")
+    private int poolSize;
+
+    @Value("${flight.search.executor.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Bean
+    public ScatterGatherExecutor searchExecutor(MeterRegistry meterRegistry) {
+        ScatterGatherExecutor executor = mode == Mode.PLATFORM
+                ? ScatterGatherExecutor.boundedPlatformPool(THREAD_NAME_PREFIX, poolSize, queueCapacity)
+                : ScatterGatherExecutor.virtualThreadPerTask(THREAD_NAME_PREFIX);
+
+        Gauge.builder("flight.search.executor.active", executor, ScatterGatherExecutor::getActiveTasks)
+                .description("Search fan-out branches currently running")
+                .tag("mode", mode.name().toLowerCase())
+                .register(meterRegistry);
+        Gauge.builder("flight.search.executor.queued", executor, ScatterGatherExecutor::getQueuedTasks)
+                .description("Search fan-out branches waiting for a thread")
+                .tag("mode", mode.name().toLowerCase())
+                .register(meterRegistry);
+
+        return executor;
+    }
+}
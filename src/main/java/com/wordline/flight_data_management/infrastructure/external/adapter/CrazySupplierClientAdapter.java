@@ -1,90 +1,125 @@
 package com.wordline.flight_data_management.infrastructure.external.adapter;
 
 import com.wordline.flight_data_management.application.port.out.CrazySupplierClient;
+import com.wordline.flight_data_management.application.port.out.ReactiveCrazySupplierClient;
 import com.wordline.flight_data_management.domain.exception.ExternalServiceException;
-import com.wordline.flight_data_management.domain.model.CrazySupplierFlight;
+import com.wordline.flight_data_management.domain.exception.SupplierUnavailableException;
+import com.wordline.flight_data_management.domain.model.Flight;
 import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.infrastructure.concurrency.LatencyTracker;
+import com.wordline.flight_data_management.infrastructure.concurrency.RequestCoalescer;
+import com.wordline.flight_data_management.infrastructure.concurrency.RetryBudget;
 import com.wordline.flight_data_management.infrastructure.external.model.CrazySupplierRequest;
-import com.wordline.flight_data_management.infrastructure.external.model.CrazySupplierResponse;
-import com.wordline.flight_data_management.infrastructure.util.TimezoneConverter;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class CrazySupplierClientAdapter implements CrazySupplierClient {
+public class CrazySupplierClientAdapter implements CrazySupplierClient, ReactiveCrazySupplierClient {
 
     private static final String SERVICE_NAME = "CrazySupplier";
-    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(408, 429, 500, 502, 503, 504);
 
     private final WebClient crazySupplierWebClient;
+    private final RequestCoalescer<CrazySupplierRequest, List<Flight>> crazySupplierCoalescer;
+    private final CircuitBreaker crazySupplierCircuitBreaker;
+    private final Bulkhead crazySupplierBulkhead;
+    private final RetryBudget crazySupplierRetryBudget;
+    private final RetryBudget crazySupplierHedgeBudget;
+    private final LatencyTracker crazySupplierLatency;
+
+    @Value("${crazysupplier.api.max-results:5000}")
+    private int maxResults;
+
+    @Value("${crazysupplier.api.timeout:5000}")
+    private long maxTimeout;
+
+    @Value("${crazysupplier.api.adaptive-timeout.percentile:0.99}")
+    private double timeoutPercentile;
+
+    @Value("${crazysupplier.api.adaptive-timeout.multiplier:2}")
+    private double timeoutMultiplier;
+
+    @Value("${crazysupplier.api.adaptive-timeout.min:500}")
+    private long minTimeout;
+
+    @Value("${crazysupplier.api.hedge.enabled:false}")
+    private boolean hedgingEnabled;
+
+    @Value("${crazysupplier.api.hedge.percentile:0.95}")
+    private double hedgePercentile;
+
+    @Value("${crazysupplier.api.hedge.min-delay:50}")
+    private long minHedgeDelay;
+
+    @Value("${crazysupplier.api.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${crazysupplier.api.retry.delay:200}")
+    private long retryDelay;
+
+    @Value("${crazysupplier.api.retry.max-delay:2000}")
+    private long maxRetryDelay;
+
+    @Value("${crazysupplier.api.retry.jitter:0.5}")
+    private double retryJitter;
 
     @Override
-    @Cacheable(value = "flights", key = "'crazySupplier:' + #criteria.toString()")
-    @Retryable(
-            value = {ExternalServiceException.class, WebClientResponseException.class},
-            maxAttemptsExpression = "${crazysupplier.api.retry.max-attempts}",
-            backoff = @Backoff(
-                    delayExpression = "${crazysupplier.api.retry.delay}"
-            )
-    )
-    public List<CrazySupplierFlight> searchFlights(FlightSearchCriteria criteria) {
+    public List<Flight> searchFlights(FlightSearchCriteria criteria) {
         log.debug("Searching flights from CrazySupplier with criteria: {}", criteria);
 
-        if (criteria == null || criteria.getDepartureAirport() == null ||
-                criteria.getDestinationAirport() == null || criteria.getDepartureTime() == null) {
+        if (!isSearchable(criteria)) {
             return Collections.emptyList();
         }
 
-        LocalDateTime outboundTime = TimezoneConverter.convertZonedDateTimeToLocalDateCet(criteria.getDepartureTime());
-
-        LocalDateTime inboundTime = TimezoneConverter.convertZonedDateTimeToLocalDateCet(criteria.getArrivalTime());
-
-        CrazySupplierRequest request = CrazySupplierRequest.builder()
-                .from(criteria.getDepartureAirport())
-                .to(criteria.getDestinationAirport())
-                .outboundDate(outboundTime)
-                .inboundDate(inboundTime)
-                .build();
+        CrazySupplierRequest request = CrazySupplierRequest.from(criteria);
 
         try {
-            List<CrazySupplierResponse> responses = crazySupplierWebClient.post()
-                    .bodyValue(request)
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), response -> {
-                        log.error("Error response from CrazySupplier API: {}", response.statusCode());
-                        return Mono.error(new ExternalServiceException(
-                                "Error response from CrazySupplier API: " + response.statusCode(),
-                                SERVICE_NAME,
-                                response.statusCode().value()));
-                    })
-                    .bodyToFlux(CrazySupplierResponse.class)
-                    .collectList()
-                    .timeout(TIMEOUT)
-                    .block();
-
-            if (responses == null) {
-                return Collections.emptyList();
-            }
+            List<Flight> flights = crazySupplierCoalescer.execute(request, () -> {
+                recordRequest();
+                Duration timeout = timeout();
+                return hedged(timed(request))
+                        .timeout(timeout)
+                        .doOnError(TimeoutException.class, e -> crazySupplierLatency.record(timeout))
+                        .transformDeferred(CircuitBreakerOperator.of(crazySupplierCircuitBreaker))
+                        .transformDeferred(BulkheadOperator.of(crazySupplierBulkhead))
+                        .retryWhen(retry(CrazySupplierClientAdapter::isRetryable))
+                        .block();
+            });
 
-            return responses.stream()
-                    .map(this::mapToDomainModel)
-                    .collect(Collectors.toList());
+            // Coalesced callers share this list, the coalescer hands it out unmodifiable
+            return flights == null ? Collections.emptyList() : flights;
 
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw unavailable(e);
+        } catch (ExternalServiceException e) {
+            // Already carries the supplier's status, which retries and callers classify on
+            throw e;
         } catch (WebClientResponseException e) {
             log.error("WebClientResponseException when calling CrazySupplier API", e);
             throw new ExternalServiceException(
@@ -100,20 +135,142 @@ public class CrazySupplierClientAdapter implements CrazySupplierClient {
         }
     }
 
-    private CrazySupplierFlight mapToDomainModel(CrazySupplierResponse response) {
+    @Override
+    public Flux<Flight> streamFlights(FlightSearchCriteria criteria) {
+        log.debug("Streaming flights from CrazySupplier with criteria: {}", criteria);
+
+        if (!isSearchable(criteria)) {
+            return Flux.empty();
+        }
+
+        CrazySupplierRequest request = CrazySupplierRequest.from(criteria);
+        return Flux.defer(() -> {
+                    Duration timeout = timeout();
+                    // Flights already sent on to the client cannot be taken back, so only a stream that failed
+                    // before its first flight is retried
+                    AtomicBoolean emitted = new AtomicBoolean();
+                    return Flux.defer(() -> {
+                                long start = System.nanoTime();
+                                return retrieve(request)
+                                        .doOnComplete(() -> crazySupplierLatency.record(Duration.ofNanos(System.nanoTime() - start)));
+                            })
+                            .timeout(timeout)
+                            .doOnError(TimeoutException.class, e -> crazySupplierLatency.record(timeout))
+                            .transformDeferred(CircuitBreakerOperator.of(crazySupplierCircuitBreaker))
+                            .transformDeferred(BulkheadOperator.of(crazySupplierBulkhead))
+                            .doOnNext(flight -> emitted.set(true))
+                            .retryWhen(retry(e -> !emitted.get() && isRetryable(e)));
+                })
+                .doOnSubscribe(subscription -> recordRequest())
+                .onErrorMap(e -> !(e instanceof ExternalServiceException), this::toExternalServiceException);
+    }
+
+    private Mono<List<Flight>> timed(CrazySupplierRequest request) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return retrieve(request)
+                    .collectList()
+                    .doOnSuccess(responses -> crazySupplierLatency.record(Duration.ofNanos(System.nanoTime() - start)));
+        });
+    }
+
+    // Once the call has been outstanding longer than the usual slow answer, an identical call races it and the first
+    // signal wins. Hedges are paid for from their own budget, and nothing is hedged until enough latencies are known
+    private <T> Mono<T> hedged(Mono<T> call) {
+        if (!hedgingEnabled) {
+            return call;
+        }
+        return crazySupplierLatency.getPercentile(hedgePercentile)
+                .map(latency -> Mono.firstWithSignal(call, Mono.delay(max(latency, Duration.ofMillis(minHedgeDelay)))
+                        .flatMap(tick -> crazySupplierHedgeBudget.tryRetry() ? call : Mono.<T>never())))
+                .orElse(call);
+    }
+
+    // A multiple of the observed tail latency, kept between the configured bounds. Calls cut off by the timeout are
+    // recorded at the timeout, so when the supplier slows down the tail grows and the timeout follows it
+    private Duration timeout() {
+        Duration maximum = Duration.ofMillis(maxTimeout);
+        return crazySupplierLatency.getPercentile(timeoutPercentile)
+                .map(latency -> Duration.ofNanos((long) (latency.toNanos() * timeoutMultiplier)))
+                .map(timeout -> max(timeout, Duration.ofMillis(minTimeout)))
+                .filter(timeout -> timeout.compareTo(maximum) < 0)
+                .orElse(maximum);
+    }
+
+    private void recordRequest() {
+        crazySupplierRetryBudget.recordRequest();
+        crazySupplierHedgeBudget.recordRequest();
+    }
+
+    private static Duration max(Duration first, Duration second) {
+        return first.compareTo(second) >= 0 ? first : second;
+    }
+
+    // Backoff waits on Reactor's timer rather than a sleeping thread, and every retry has to be paid for from the budget
+    private Retry retry(Predicate<Throwable> retryable) {
+        return Retry.backoff(maxAttempts - 1L, Duration.ofMillis(retryDelay))
+                .maxBackoff(Duration.ofMillis(maxRetryDelay))
+                .jitter(retryJitter)
+                .filter(retryable)
+                .doBeforeRetryAsync(signal -> crazySupplierRetryBudget.tryRetry()
+                        ? Mono.empty()
+                        : Mono.error(signal.failure()))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    // Client errors will fail the same way again, and an open circuit or full bulkhead is not a supplier failure
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof ExternalServiceException exception) {
+            return RETRYABLE_STATUSES.contains(exception.getStatusCode());
+        }
+        return e instanceof TimeoutException || e instanceof WebClientRequestException;
+    }
+
+    private boolean isSearchable(FlightSearchCriteria criteria) {
+        return criteria != null && criteria.getDepartureAirport() != null &&
+                criteria.getDestinationAirport() != null && criteria.getDepartureTime() != null;
+    }
 
-        LocalDateTime outboundDateTime = TimezoneConverter.convertLocalDateTimeFromCetToUtc(response.getOutboundDateTime());
+    // Flights are decoded one array element at a time as the body arrives, see CrazySupplierFlightDeserializer
+    private Flux<Flight> retrieve(CrazySupplierRequest request) {
+        AtomicInteger received = new AtomicInteger();
+        return crazySupplierWebClient.post()
+                .bodyValue(request)
+                .retrieve()
+                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), response -> {
+                    log.error("Error response from CrazySupplier API: {}", response.statusCode());
+                    return Mono.error(new ExternalServiceException(
+                            "Error response from CrazySupplier API: " + response.statusCode(),
+                            SERVICE_NAME,
+                            response.statusCode().value()));
+                })
+                .bodyToFlux(Flight.class)
+                .handle((flight, sink) -> {
+                    if (received.incrementAndGet() > maxResults) {
+                        sink.error(new DataBufferLimitException("CrazySupplier returned more than " + maxResults + " flights"));
+                    } else {
+                        sink.next(flight);
+                    }
+                });
+    }
 
-        LocalDateTime inboundDateTime = TimezoneConverter.convertLocalDateTimeFromCetToUtc(response.getInboundDateTime());
+    private ExternalServiceException toExternalServiceException(Throwable e) {
+        if (e instanceof CallNotPermittedException || e instanceof BulkheadFullException) {
+            return unavailable(e);
+        }
+        if (e instanceof ExternalServiceException externalServiceException) {
+            return externalServiceException;
+        }
+        log.error("Exception when calling CrazySupplier API", e);
+        int statusCode = e instanceof WebClientResponseException responseException
+                ? responseException.getStatusCode().value()
+                : 500;
+        return new ExternalServiceException("Error calling CrazySupplier API: " + e.getMessage(), SERVICE_NAME, statusCode);
+    }
 
-        return CrazySupplierFlight.builder()
-                .carrier(response.getCarrier())
-                .basePrice(response.getBasePrice())
-                .tax(response.getTax())
-                .departureAirportName(response.getDepartureAirportName())
-                .arrivalAirportName(response.getArrivalAirportName())
-                .outboundDateTime(outboundDateTime)
-                .inboundDateTime(inboundDateTime)
-                .build();
+    // The circuit is open or too many calls are in flight: fail fast, the search goes on without this supplier
+    private SupplierUnavailableException unavailable(Throwable e) {
+        log.warn("Not calling CrazySupplier API: {}", e.getMessage());
+        return new SupplierUnavailableException("CrazySupplier API unavailable: " + e.getMessage(), SERVICE_NAME);
     }
 }
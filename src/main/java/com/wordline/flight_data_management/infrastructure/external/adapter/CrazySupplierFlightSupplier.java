@@ -0,0 +1,75 @@
+package com.wordline.flight_data_management.infrastructure.external.adapter;
+
+import com.wordline.flight_data_management.application.port.out.CrazySupplierClient;
+import com.wordline.flight_data_management.application.port.out.FlightSupplier;
+import com.wordline.flight_data_management.application.port.out.ReactiveCrazySupplierClient;
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.infrastructure.cache.RefreshAheadCache;
+import com.wordline.flight_data_management.infrastructure.external.mapper.CrazySupplierFlightDeserializer;
+import com.wordline.flight_data_management.infrastructure.external.model.CrazySupplierRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class CrazySupplierFlightSupplier implements FlightSupplier {
+
+    private final CrazySupplierClient crazySupplierClient;
+    private final ReactiveCrazySupplierClient reactiveCrazySupplierClient;
+    private final RefreshAheadCache<CrazySupplierRequest, List<Flight>> supplierSearchCache;
+
+    @Value("${crazysupplier.api.deadline:10000}")
+    private long deadline;
+
+    @Value("${crazysupplier.api.max-concurrency:64}")
+    private int maxConcurrency;
+
+    @Override
+    public String getName() {
+        return CrazySupplierFlightDeserializer.CRAZY_SUPPLIER;
+    }
+
+    // The supplier is only asked for a route and CET days, so one cached answer serves every airline and
+    // time of day on that route, and the airline filter the supplier cannot apply is applied here
+    @Override
+    public List<Flight> searchFlights(FlightSearchCriteria criteria) {
+        List<Flight> routeFlights = supplierSearchCache.get(CrazySupplierRequest.from(criteria),
+                () -> crazySupplierClient.searchFlights(criteria));
+        if (!hasAirline(criteria)) {
+            return routeFlights;
+        }
+        return routeFlights.stream()
+                .filter(flight -> criteria.getAirline().equals(flight.getAirline()))
+                .toList();
+    }
+
+    @Override
+    public Flux<Flight> streamFlights(FlightSearchCriteria criteria) {
+        Flux<Flight> routeFlights = supplierSearchCache.getIfPresent(CrazySupplierRequest.from(criteria))
+                .map(Flux::fromIterable)
+                .orElseGet(() -> reactiveCrazySupplierClient.streamFlights(criteria));
+        return hasAirline(criteria)
+                ? routeFlights.filter(flight -> criteria.getAirline().equals(flight.getAirline()))
+                : routeFlights;
+    }
+
+    @Override
+    public Duration getDeadline() {
+        return Duration.ofMillis(deadline);
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    private static boolean hasAirline(FlightSearchCriteria criteria) {
+        return criteria.getAirline() != null && !criteria.getAirline().isEmpty();
+    }
+}
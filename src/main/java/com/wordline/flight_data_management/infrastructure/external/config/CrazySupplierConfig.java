@@ -1,12 +1,33 @@
 package com.wordline.flight_data_management.infrastructure.external.config;
 
+import com.wordline.flight_data_management.domain.exception.ExternalServiceException;
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.infrastructure.concurrency.LatencyTracker;
+import com.wordline.flight_data_management.infrastructure.concurrency.RetryBudget;
+import com.wordline.flight_data_management.infrastructure.external.mapper.CrazySupplierFlightDeserializer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
 
@@ -14,14 +35,62 @@ import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
+@Slf4j
 public class CrazySupplierConfig {
 
+    private static final String RESILIENCE_NAME = "crazySupplier";
+    private static final String TRANSITION_METRIC = "flight.supplier.circuit-breaker.transitions";
+
     @Value("${crazysupplier.api.url}")
     private String apiUrl;
 
     @Value("${crazysupplier.api.timeout:5000}")
     private int timeout;
 
+    @Value("${crazysupplier.api.max-response-size:4MB}")
+    private DataSize maxResponseSize;
+
+    @Value("${crazysupplier.api.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${crazysupplier.api.circuit-breaker.slow-call-rate-threshold:50}")
+    private float slowCallRateThreshold;
+
+    @Value("${crazysupplier.api.circuit-breaker.slow-call-duration:3000ms}")
+    private Duration slowCallDuration;
+
+    @Value("${crazysupplier.api.circuit-breaker.sliding-window-size:20}")
+    private int slidingWindowSize;
+
+    @Value("${crazysupplier.api.circuit-breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${crazysupplier.api.circuit-breaker.open-duration:30s}")
+    private Duration openDuration;
+
+    @Value("${crazysupplier.api.circuit-breaker.half-open-calls:3}")
+    private int halfOpenCalls;
+
+    @Value("${crazysupplier.api.bulkhead.max-concurrent-calls:32}")
+    private int bulkheadMaxConcurrentCalls;
+
+    @Value("${crazysupplier.api.retry.budget-percent:10}")
+    private double retryBudgetPercent;
+
+    @Value("${crazysupplier.api.retry.budget-max-retries:10}")
+    private int retryBudgetMaxRetries;
+
+    @Value("${crazysupplier.api.hedge.budget-percent:5}")
+    private double hedgeBudgetPercent;
+
+    @Value("${crazysupplier.api.hedge.budget-max-hedges:5}")
+    private int hedgeBudgetMaxHedges;
+
+    @Value("${crazysupplier.api.latency.window-size:256}")
+    private int latencyWindowSize;
+
+    @Value("${crazysupplier.api.latency.min-samples:20}")
+    private int latencyMinSamples;
 
     @Bean
     public WebClient crazySupplierWebClient() {
@@ -35,6 +104,85 @@ public class CrazySupplierConfig {
         return WebClient.builder()
                 .baseUrl(apiUrl)
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .exchangeStrategies(exchangeStrategies())
+                .filter(new ResponseSizeLimit(maxResponseSize))
+                .build();
+    }
+
+    // Only this client decodes Flight from the supplier's JSON
+    public static ExchangeStrategies exchangeStrategies() {
+        Jackson2JsonDecoder flightDecoder = new Jackson2JsonDecoder(Jackson2ObjectMapperBuilder.json()
+                .deserializerByType(Flight.class, new CrazySupplierFlightDeserializer())
+                .build());
+        return ExchangeStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonDecoder(flightDecoder))
+                .build();
+    }
+
+    @Bean
+    public CircuitBreaker crazySupplierCircuitBreaker(MeterRegistry meterRegistry) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(openDuration)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .recordException(CrazySupplierConfig::isSupplierFault)
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(RESILIENCE_NAME);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            log.warn("{} circuit breaker moved {}", event.getCircuitBreakerName(), event.getStateTransition());
+            Counter.builder(TRANSITION_METRIC)
+                    .description("Circuit breaker state transitions")
+                    .tag("name", event.getCircuitBreakerName())
+                    .tag("from", event.getStateTransition().getFromState().name())
+                    .tag("to", event.getStateTransition().getToState().name())
+                    .register(meterRegistry)
+                    .increment();
+        });
+        return circuitBreaker;
+    }
+
+    @Bean
+    public Bulkhead crazySupplierBulkhead(MeterRegistry meterRegistry) {
+        // Calls beyond the limit are rejected at once rather than queued behind a slow supplier
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(bulkheadMaxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
                 .build();
+        BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(RESILIENCE_NAME);
+    }
+
+    @Bean
+    public RetryBudget crazySupplierRetryBudget(MeterRegistry meterRegistry) {
+        return new RetryBudget("crazy-supplier", retryBudgetPercent / 100, retryBudgetMaxRetries, meterRegistry);
+    }
+
+    @Bean
+    public RetryBudget crazySupplierHedgeBudget(MeterRegistry meterRegistry) {
+        return new RetryBudget("crazy-supplier-hedge", hedgeBudgetPercent / 100, hedgeBudgetMaxHedges, meterRegistry);
+    }
+
+    @Bean
+    public LatencyTracker crazySupplierLatency(MeterRegistry meterRegistry) {
+        return new LatencyTracker("crazy-supplier", latencyWindowSize, latencyMinSamples, meterRegistry);
+    }
+
+    // Client errors say nothing about the supplier's health, they count as successful calls
+    static boolean isSupplierFault(Throwable error) {
+        if (error instanceof ExternalServiceException exception) {
+            int status = exception.getStatusCode();
+            return status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return true;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package com.wordline.flight_data_management.infrastructure.external.config;
+
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// The codecs only bound the size of a single decoded element, this bounds the whole streamed body
+public class ResponseSizeLimit implements ExchangeFilterFunction {
+
+    private final DataSize maxSize;
+
+    public ResponseSizeLimit(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return next.exchange(request).map(response -> response.mutate()
+                .body(body -> Flux.defer(() -> {
+                    AtomicLong received = new AtomicLong();
+                    return body.handle((buffer, sink) -> {
+                        if (received.addAndGet(buffer.readableByteCount()) > maxSize.toBytes()) {
+                            DataBufferUtils.release(buffer);
+                            sink.error(new DataBufferLimitException("Response from " + request.url() + " exceeded " + maxSize));
+                        } else {
+                            sink.next(buffer);
+                        }
+                    });
+                }))
+                .build());
+    }
+}
@@ -0,0 +1,75 @@
+package com.wordline.flight_data_management.infrastructure.external.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.infrastructure.util.TimezoneConverter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+// Reads one CrazySupplier result straight into a Flight, with the fare summed, the CET times moved to UTC once
+// and an id derived from the flight's content
+public class CrazySupplierFlightDeserializer extends StdDeserializer<Flight> {
+
+    public static final String CRAZY_SUPPLIER = "CrazySupplier";
+
+    public CrazySupplierFlightDeserializer() {
+        super(Flight.class);
+    }
+
+    @Override
+    public Flight deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        Flight.FlightBuilder flight = Flight.builder()
+                .supplier(CRAZY_SUPPLIER);
+        BigDecimal basePrice = null;
+        BigDecimal tax = null;
+
+        String field = parser.isExpectedStartObjectToken() ? parser.nextFieldName() : parser.currentName();
+        for (; field != null; field = parser.nextFieldName()) {
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "carrier" -> flight.airline(text(parser, value));
+                case "basePrice" -> basePrice = context.readValue(parser, BigDecimal.class);
+                case "tax" -> tax = context.readValue(parser, BigDecimal.class);
+                case "departureAirportName" -> flight.departureAirport(text(parser, value));
+                case "arrivalAirportName" -> flight.destinationAirport(text(parser, value));
+                case "outboundDateTime" -> flight.departureTime(toUtc(context.readValue(parser, LocalDateTime.class)));
+                case "inboundDateTime" -> flight.arrivalTime(toUtc(context.readValue(parser, LocalDateTime.class)));
+                default -> parser.skipChildren();
+            }
+        }
+
+        Flight result = flight.fare(basePrice == null || tax == null ? basePrice : basePrice.add(tax)).build();
+        result.setId(idOf(result));
+        return result;
+    }
+
+    // Name-based on what identifies the flight, the fare left out, so the same flight keeps its id across searches
+    private static UUID idOf(Flight flight) {
+        String name = String.join("|",
+                flight.getSupplier(),
+                flight.getAirline(),
+                flight.getDepartureAirport(),
+                flight.getDestinationAirport(),
+                String.valueOf(flight.getDepartureTime() == null ? null : flight.getDepartureTime().toInstant()),
+                String.valueOf(flight.getArrivalTime() == null ? null : flight.getArrivalTime().toInstant()));
+        return UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        return value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+    }
+
+    private static ZonedDateTime toUtc(LocalDateTime cetDateTime) {
+        return cetDateTime == null
+                ? null
+                : cetDateTime.atZone(TimezoneConverter.CET_ZONE).withZoneSameInstant(TimezoneConverter.UTC_ZONE);
+    }
+}
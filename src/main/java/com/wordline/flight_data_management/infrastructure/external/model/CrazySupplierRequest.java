@@ -1,11 +1,14 @@
 package com.wordline.flight_data_management.infrastructure.external.model;
 
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.infrastructure.util.TimezoneConverter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
 
 @Data
 @Builder
@@ -16,4 +19,19 @@ public class CrazySupplierRequest {
     private String to;
     private LocalDateTime outboundDate;
     private LocalDateTime inboundDate;
+
+    // The supplier searches whole CET days, so every time of day within one asks it the same question
+    public static CrazySupplierRequest from(FlightSearchCriteria criteria) {
+        return CrazySupplierRequest.builder()
+                .from(criteria.getDepartureAirport())
+                .to(criteria.getDestinationAirport())
+                .outboundDate(startOfCetDay(criteria.getDepartureTime()))
+                .inboundDate(startOfCetDay(criteria.getArrivalTime()))
+                .build();
+    }
+
+    private static LocalDateTime startOfCetDay(ZonedDateTime time) {
+        LocalDateTime cetTime = TimezoneConverter.convertZonedDateTimeToLocalDateCet(time);
+        return cetTime == null ? null : cetTime.toLocalDate().atStartOfDay();
+    }
 }
@@ -1,21 +1,36 @@
 package com.wordline.flight_data_management.infrastructure.persistence.adapter;
 
 import com.wordline.flight_data_management.application.port.out.FlightRepository;
+import com.wordline.flight_data_management.domain.model.BulkItemResult;
 import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightCursor;
+import com.wordline.flight_data_management.domain.model.FlightPatch;
 import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
 import com.wordline.flight_data_management.infrastructure.persistence.entity.FlightEntity;
+import com.wordline.flight_data_management.infrastructure.persistence.index.FlightReadModel;
+import com.wordline.flight_data_management.infrastructure.persistence.jdbc.FlightBatchWriter;
 import com.wordline.flight_data_management.infrastructure.persistence.mapper.FlightMapper;
 import com.wordline.flight_data_management.infrastructure.persistence.repository.FlightJpaRepository;
 import com.wordline.flight_data_management.infrastructure.persistence.specification.FlightSpecification;
+import com.wordline.flight_data_management.infrastructure.util.TransactionCallbacks;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
@@ -25,29 +40,110 @@ public class FlightRepositoryAdapter implements FlightRepository {
     private final FlightJpaRepository flightJpaRepository;
     private final FlightMapper flightMapper;
     private final FlightSpecification flightSpecification;
+    private final FlightReadModel flightReadModel;
+    private final EntityManager entityManager;
+    private final FlightBatchWriter flightBatchWriter;
 
     @Override
-    public Flight save(Flight flight) {
-        log.debug("Saving flight: {}", flight);
+    public Flight insert(Flight flight) {
+        log.debug("Inserting flight: {}", flight);
         FlightEntity entity = flightMapper.toEntity(flight);
-        FlightEntity savedEntity = flightJpaRepository.save(entity);
-        return flightMapper.toDomain(savedEntity);
+        entity.setNewEntity(true);
+        return persist(entity);
+    }
+
+    @Override
+    public List<BulkItemResult> insertAll(List<Flight> flights) {
+        log.debug("Bulk inserting {} flights", flights.size());
+        List<BulkItemResult> results = flightBatchWriter.insert(flights);
+        // Batch inserts start every row at version 0, like persist does
+        results.stream()
+                .filter(BulkItemResult::isSuccess)
+                .forEach(result -> flights.get(result.index()).setVersion(0L));
+        TransactionCallbacks.afterCommit(() -> upsertSucceeded(flights, results));
+        return results;
+    }
+
+    @Override
+    public List<BulkItemResult> updateAll(List<Flight> flights) {
+        log.debug("Bulk updating {} flights", flights.size());
+        List<BulkItemResult> results = flightBatchWriter.update(flights);
+        // The batch increments versions in SQL, so the updated rows are read back for their new versions
+        List<UUID> updatedIds = results.stream()
+                .filter(BulkItemResult::isSuccess)
+                .map(BulkItemResult::id)
+                .toList();
+        List<Flight> updatedFlights = updatedIds.isEmpty() ? List.of() : flightJpaRepository.findFlightsByIds(updatedIds);
+        Map<UUID, Long> versions = updatedFlights.stream()
+                .collect(Collectors.toMap(Flight::getId, Flight::getVersion));
+        flights.stream()
+                .filter(flight -> versions.containsKey(flight.getId()))
+                .forEach(flight -> flight.setVersion(versions.get(flight.getId())));
+        TransactionCallbacks.afterCommit(() -> updatedFlights.forEach(flightReadModel::upsert));
+        return results;
+    }
+
+    @Override
+    public Optional<Flight> patch(UUID id, FlightPatch patch, Long expectedVersion) {
+        log.debug("Patching flight {} with: {}", id, patch);
+        if (patch.isEmpty()) {
+            // Nothing to write, so the version stays and only the precondition is checked
+            return findById(id)
+                    .filter(flight -> expectedVersion == null || expectedVersion.equals(flight.getVersion()));
+        }
+        if (executePatch(id, patch, expectedVersion) == 0) {
+            return Optional.empty();
+        }
+        // Read back so callers and the read model see the columns the patch left alone
+        Optional<Flight> patchedFlight = findById(id);
+        patchedFlight.ifPresent(flight -> TransactionCallbacks.afterCommit(() -> flightReadModel.upsert(flight)));
+        return patchedFlight;
+    }
+
+    @Override
+    public boolean remove(UUID id, Long expectedVersion) {
+        log.debug("Removing flight by id: {}", id);
+        if (flightJpaRepository.deleteFlight(id, expectedVersion) == 0) {
+            return false;
+        }
+        TransactionCallbacks.afterCommit(() -> flightReadModel.remove(id));
+        return true;
     }
 
     @Override
     public Optional<Flight> findById(UUID id) {
         log.debug("Finding flight by id: {}", id);
-        return flightJpaRepository.findById(id)
-                .map(flightMapper::toDomain);
+        return flightJpaRepository.findFlightById(id);
     }
 
     @Override
     public List<Flight> findAll() {
         log.debug("Finding all flights");
-        List<FlightEntity> entities = flightJpaRepository.findAll();
+        return flightJpaRepository.findAllFlights();
+    }
+
+    @Override
+    public List<Flight> findPage(FlightCursor after, int limit) {
+        log.debug("Finding page of {} flights after: {}", limit, after);
+        PageRequest page = PageRequest.ofSize(limit);
+        List<FlightEntity> entities = after == null
+                ? flightJpaRepository.findAllByOrderByDepartureTimeAscIdAsc(page)
+                : flightJpaRepository.findPageAfter(after.departureTime(), after.id(), page);
         return flightMapper.toDomainList(entities);
     }
 
+    @Override
+    public void forEachFlight(Consumer<Flight> action) {
+        log.debug("Streaming all flights");
+        try (Stream<FlightEntity> entities = flightJpaRepository.streamAllOrdered()) {
+            entities.forEach(entity -> {
+                action.accept(flightMapper.toDomain(entity));
+                // Detached right away so the persistence context does not grow with the table
+                entityManager.detach(entity);
+            });
+        }
+    }
+
     @Override
     public List<Flight> findByCriteria(FlightSearchCriteria criteria) {
         log.debug("Finding flights by criteria: {}", criteria);
@@ -56,18 +152,21 @@ public class FlightRepositoryAdapter implements FlightRepository {
             return findAll();
         }
 
-        List<FlightEntity> entities = flightJpaRepository.findAll(
-                flightSpecification.byCriteria(criteria),
-                Sort.by(Sort.Direction.ASC, "departureTime")
-        );
+        if (flightReadModel.canServe(criteria)) {
+            return flightReadModel.find(criteria);
+        }
 
-        return flightMapper.toDomainList(entities);
+        return flightJpaRepository.findFlights(flightSpecification.byCriteria(criteria));
     }
 
     @Override
-    public void deleteById(UUID id) {
-        log.debug("Deleting flight by id: {}", id);
-        flightJpaRepository.deleteById(id);
+    public List<BulkItemResult> deleteAllById(List<UUID> ids) {
+        log.debug("Bulk deleting {} flights", ids.size());
+        List<BulkItemResult> results = flightBatchWriter.delete(ids);
+        TransactionCallbacks.afterCommit(() -> results.stream()
+                .filter(BulkItemResult::isSuccess)
+                .forEach(result -> flightReadModel.remove(result.id())));
+        return results;
     }
 
     @Override
@@ -75,4 +174,49 @@ public class FlightRepositoryAdapter implements FlightRepository {
         log.debug("Checking if flight exists by id: {}", id);
         return flightJpaRepository.existsById(id);
     }
+
+    // Only the columns present in the patch appear in the SET clause
+    private int executePatch(UUID id, FlightPatch patch, Long expectedVersion) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<FlightEntity> update = criteriaBuilder.createCriteriaUpdate(FlightEntity.class);
+        Root<FlightEntity> root = update.from(FlightEntity.class);
+        setIfPresent(update, "airline", patch.getAirline());
+        setIfPresent(update, "supplier", patch.getSupplier());
+        setIfPresent(update, "fare", patch.getFare());
+        setIfPresent(update, "departureAirport", patch.getDepartureAirport());
+        setIfPresent(update, "destinationAirport", patch.getDestinationAirport());
+        setIfPresent(update, "departureTime", patch.getDepartureTime());
+        setIfPresent(update, "arrivalTime", patch.getArrivalTime());
+        Path<Long> version = root.get("version");
+        update.set(version, criteriaBuilder.sum(version, 1L));
+        update.where(expectedVersion == null
+                ? criteriaBuilder.equal(root.get("id"), id)
+                : criteriaBuilder.and(criteriaBuilder.equal(root.get("id"), id), criteriaBuilder.equal(version, expectedVersion)));
+
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    private static void setIfPresent(CriteriaUpdate<FlightEntity> update, String attribute, Object value) {
+        if (value != null) {
+            update.set(attribute, value);
+        }
+    }
+
+    private Flight persist(FlightEntity entity) {
+        FlightEntity savedEntity = flightJpaRepository.save(entity);
+        Flight savedFlight = flightMapper.toDomain(savedEntity);
+        TransactionCallbacks.afterCommit(() -> flightReadModel.upsert(savedFlight));
+        return savedFlight;
+    }
+
+    private void upsertSucceeded(List<Flight> flights, List<BulkItemResult> results) {
+        for (BulkItemResult result : results) {
+            if (result.isSuccess()) {
+                flightReadModel.upsert(flights.get(result.index()));
+            }
+        }
+    }
 }
@@ -0,0 +1,362 @@
+package com.wordline.flight_data_management.infrastructure.persistence.index;
+
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.domain.model.FlightSearchKey;
+import com.wordline.flight_data_management.infrastructure.persistence.mapper.FlightMapper;
+import com.wordline.flight_data_management.infrastructure.persistence.repository.FlightJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// One primitive array per column, about 64 bytes per flight; Flight objects are only built for matching rows
+public class ColumnarFlightStore extends PreloadedFlightReadModel {
+
+    private static final ZoneId UTC_ZONE = ZoneId.of("UTC");
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int FARE_SCALE = 2;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final int NULL_CODE = Integer.MIN_VALUE;
+    private static final int UNKNOWN_CODE = Integer.MIN_VALUE + 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Airport codes outside [A-Z]{3} and all airlines and suppliers are dictionary encoded
+    private final CodeDictionary irregularAirports = new CodeDictionary();
+    private final CodeDictionary airlines = new CodeDictionary();
+    private final CodeDictionary suppliers = new CodeDictionary();
+
+    private long[] idHigh = new long[INITIAL_CAPACITY];
+    private long[] idLow = new long[INITIAL_CAPACITY];
+    private int[] departureAirports = new int[INITIAL_CAPACITY];
+    private int[] destinationAirports = new int[INITIAL_CAPACITY];
+    private int[] airlineCodes = new int[INITIAL_CAPACITY];
+    private int[] supplierCodes = new int[INITIAL_CAPACITY];
+    private long[] fareMinorUnits = new long[INITIAL_CAPACITY];
+    private long[] departureEpochSeconds = new long[INITIAL_CAPACITY];
+    private long[] arrivalEpochSeconds = new long[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private int size;
+
+    // Open-addressing id index holding row + 1, with 0 marking a free slot; kept at most half full
+    private int[] idSlots = new int[INITIAL_CAPACITY * 2];
+
+    public ColumnarFlightStore(FlightJpaRepository flightJpaRepository, FlightMapper flightMapper, MeterRegistry meterRegistry) {
+        super("columnar", flightJpaRepository, flightMapper, meterRegistry);
+    }
+
+    @Override
+    public boolean canServe(FlightSearchCriteria criteria) {
+        return isLoaded() && criteria != null;
+    }
+
+    @Override
+    public List<Flight> find(FlightSearchCriteria criteria) {
+        List<Flight> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int departureAirport = lookupAirport(criteria.getDepartureAirport());
+            int destinationAirport = lookupAirport(criteria.getDestinationAirport());
+            int airline = lookup(airlines, criteria.getAirline());
+            if (departureAirport == UNKNOWN_CODE || destinationAirport == UNKNOWN_CODE || airline == UNKNOWN_CODE) {
+                return matches;
+            }
+
+            long departureFrom = dayStart(criteria.getDepartureTime());
+            long departureTo = dayEnd(criteria.getDepartureTime());
+            long arrivalFrom = dayStart(criteria.getArrivalTime());
+            long arrivalTo = dayEnd(criteria.getArrivalTime());
+
+            for (int row = 0; row < size; row++) {
+                if ((departureAirport == NULL_CODE || departureAirports[row] == departureAirport)
+                        && (destinationAirport == NULL_CODE || destinationAirports[row] == destinationAirport)
+                        && (airline == NULL_CODE || airlineCodes[row] == airline)
+                        && inRange(departureEpochSeconds[row], departureFrom, departureTo)
+                        && inRange(arrivalEpochSeconds[row], arrivalFrom, arrivalTo)) {
+                    matches.add(toFlight(row));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparing(Flight::getDepartureTime, Comparator.nullsLast(Comparator.naturalOrder())));
+        return matches;
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected void apply(Flight flight) {
+        lock.writeLock().lock();
+        try {
+            long high = flight.getId().getMostSignificantBits();
+            long low = flight.getId().getLeastSignificantBits();
+            int slot = findSlot(high, low);
+            int row;
+            if (idSlots[slot] != 0) {
+                row = idSlots[slot] - 1;
+            } else {
+                if ((size + 1) * 2 > idSlots.length) {
+                    grow();
+                    slot = findSlot(high, low);
+                }
+                row = size++;
+                idHigh[row] = high;
+                idLow[row] = low;
+                idSlots[slot] = row + 1;
+            }
+
+            departureAirports[row] = encodeAirport(flight.getDepartureAirport());
+            destinationAirports[row] = encodeAirport(flight.getDestinationAirport());
+            airlineCodes[row] = airlines.encode(flight.getAirline());
+            supplierCodes[row] = suppliers.encode(flight.getSupplier());
+            fareMinorUnits[row] = flight.getFare() == null
+                    ? NULL_LONG
+                    : flight.getFare().setScale(FARE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            departureEpochSeconds[row] = toEpochSecond(flight.getDepartureTime());
+            arrivalEpochSeconds[row] = toEpochSecond(flight.getArrivalTime());
+            versions[row] = flight.getVersion() == null ? NULL_LONG : flight.getVersion();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    protected void unlink(UUID id) {
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (idSlots[slot] == 0) {
+                return;
+            }
+            int row = idSlots[slot] - 1;
+            clearSlot(slot);
+
+            // The last row moves into the gap so the columns stay dense for scanning
+            int last = --size;
+            if (row != last) {
+                int lastSlot = findSlot(idHigh[last], idLow[last]);
+                moveRow(last, row);
+                idSlots[lastSlot] = row + 1;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    protected Long versionOf(UUID id) {
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (idSlots[slot] == 0) {
+                return null;
+            }
+            long version = versions[idSlots[slot] - 1];
+            return version == NULL_LONG ? null : version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Flight toFlight(int row) {
+        return Flight.builder()
+                .id(new UUID(idHigh[row], idLow[row]))
+                .airline(airlines.decode(airlineCodes[row]))
+                .supplier(suppliers.decode(supplierCodes[row]))
+                .fare(fareMinorUnits[row] == NULL_LONG ? null : BigDecimal.valueOf(fareMinorUnits[row], FARE_SCALE))
+                .departureAirport(decodeAirport(departureAirports[row]))
+                .destinationAirport(decodeAirport(destinationAirports[row]))
+                .departureTime(toZonedDateTime(departureEpochSeconds[row]))
+                .arrivalTime(toZonedDateTime(arrivalEpochSeconds[row]))
+                .version(versions[row] == NULL_LONG ? null : versions[row])
+                .build();
+    }
+
+    private void moveRow(int from, int to) {
+        idHigh[to] = idHigh[from];
+        idLow[to] = idLow[from];
+        departureAirports[to] = departureAirports[from];
+        destinationAirports[to] = destinationAirports[from];
+        airlineCodes[to] = airlineCodes[from];
+        supplierCodes[to] = supplierCodes[from];
+        fareMinorUnits[to] = fareMinorUnits[from];
+        departureEpochSeconds[to] = departureEpochSeconds[from];
+        arrivalEpochSeconds[to] = arrivalEpochSeconds[from];
+        versions[to] = versions[from];
+    }
+
+    private void grow() {
+        int capacity = idHigh.length * 2;
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        departureAirports = Arrays.copyOf(departureAirports, capacity);
+        destinationAirports = Arrays.copyOf(destinationAirports, capacity);
+        airlineCodes = Arrays.copyOf(airlineCodes, capacity);
+        supplierCodes = Arrays.copyOf(supplierCodes, capacity);
+        fareMinorUnits = Arrays.copyOf(fareMinorUnits, capacity);
+        departureEpochSeconds = Arrays.copyOf(departureEpochSeconds, capacity);
+        arrivalEpochSeconds = Arrays.copyOf(arrivalEpochSeconds, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+
+        idSlots = new int[capacity * 2];
+        for (int row = 0; row < size; row++) {
+            idSlots[findSlot(idHigh[row], idLow[row])] = row + 1;
+        }
+    }
+
+    private int findSlot(long high, long low) {
+        int mask = idSlots.length - 1;
+        int slot = hash(high, low) & mask;
+        while (idSlots[slot] != 0) {
+            int row = idSlots[slot] - 1;
+            if (idHigh[row] == high && idLow[row] == low) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Backward-shift deletion keeps linear probing chains intact without tombstones
+    private void clearSlot(int slot) {
+        int mask = idSlots.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (idSlots[next] != 0) {
+            int row = idSlots[next] - 1;
+            int home = hash(idHigh[row], idLow[row]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                idSlots[hole] = idSlots[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        idSlots[hole] = 0;
+    }
+
+    private static int hash(long high, long low) {
+        long h = high ^ low;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    // Three upper-case letters pack into 15 bits; anything else gets a negative dictionary code
+    private int encodeAirport(String code) {
+        if (code == null) {
+            return NULL_CODE;
+        }
+        return isPackable(code) ? pack(code) : -1 - irregularAirports.encode(code);
+    }
+
+    private int lookupAirport(String code) {
+        if (code == null || code.isEmpty()) {
+            return NULL_CODE;
+        }
+        if (isPackable(code)) {
+            return pack(code);
+        }
+        int id = irregularAirports.find(code);
+        return id < 0 ? UNKNOWN_CODE : -1 - id;
+    }
+
+    private String decodeAirport(int code) {
+        if (code == NULL_CODE) {
+            return null;
+        }
+        if (code < 0) {
+            return irregularAirports.decode(-1 - code);
+        }
+        return new String(new char[]{
+                (char) ('A' + (code >> 10 & 0x1F)),
+                (char) ('A' + (code >> 5 & 0x1F)),
+                (char) ('A' + (code & 0x1F))});
+    }
+
+    private static boolean isPackable(String code) {
+        return code.length() == 3
+                && code.chars().allMatch(c -> c >= 'A' && c <= 'Z');
+    }
+
+    private static int pack(String code) {
+        return (code.charAt(0) - 'A') << 10 | (code.charAt(1) - 'A') << 5 | (code.charAt(2) - 'A');
+    }
+
+    private static int lookup(CodeDictionary dictionary, String value) {
+        if (value == null || value.isEmpty()) {
+            return NULL_CODE;
+        }
+        int id = dictionary.find(value);
+        return id < 0 ? UNKNOWN_CODE : id;
+    }
+
+    private static long dayStart(ZonedDateTime time) {
+        return time == null ? Long.MIN_VALUE : FlightSearchKey.dayStart(time).toEpochSecond();
+    }
+
+    private static long dayEnd(ZonedDateTime time) {
+        return time == null ? Long.MAX_VALUE : FlightSearchKey.dayEnd(time).toEpochSecond();
+    }
+
+    private static boolean inRange(long epochSecond, long from, long to) {
+        if (from == Long.MIN_VALUE && to == Long.MAX_VALUE) {
+            return true;
+        }
+        return epochSecond != NULL_LONG && epochSecond >= from && epochSecond < to;
+    }
+
+    private static long toEpochSecond(ZonedDateTime time) {
+        return time == null ? NULL_LONG : time.toEpochSecond();
+    }
+
+    private static ZonedDateTime toZonedDateTime(long epochSecond) {
+        return epochSecond == NULL_LONG ? null : ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), UTC_ZONE);
+    }
+
+    private static final class CodeDictionary {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return NULL_CODE;
+            }
+            return ids.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        int find(String value) {
+            return ids.getOrDefault(value, -1);
+        }
+
+        String decode(int id) {
+            return id == NULL_CODE ? null : values.get(id);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.wordline.flight_data_management.infrastructure.persistence.index;
+
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface FlightReadModel {
+
+    boolean canServe(FlightSearchCriteria criteria);
+
+    List<Flight> find(FlightSearchCriteria criteria);
+
+    void upsert(Flight flight);
+
+    void remove(UUID id);
+
+    static FlightReadModel none() {
+        return new FlightReadModel() {
+            @Override
+            public boolean canServe(FlightSearchCriteria criteria) {
+                return false;
+            }
+
+            @Override
+            public List<Flight> find(FlightSearchCriteria criteria) {
+                return List.of();
+            }
+
+            @Override
+            public void upsert(Flight flight) {
+            }
+
+            @Override
+            public void remove(UUID id) {
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.wordline.flight_data_management.infrastructure.persistence.index;
+
+import com.wordline.flight_data_management.infrastructure.persistence.mapper.FlightMapper;
+import com.wordline.flight_data_management.infrastructure.persistence.repository.FlightJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlightReadModelConfig {
+
+    public enum Mode {
+        NONE,
+        ROUTE_INDEX,
+        COLUMNAR
+    }
+
+    @Value("${flight.search.read-model:NONE}")
+    private Mode mode;
+
+    @Bean
+    public FlightReadModel flightReadModel(FlightJpaRepository flightJpaRepository, FlightMapper flightMapper,
+                                           MeterRegistry meterRegistry) {
+        return switch (mode) {
+            case NONE -> FlightReadModel.none();
+            case ROUTE_INDEX -> new FlightRouteIndex(flightJpaRepository, flightMapper, meterRegistry);
+            case COLUMNAR -> new ColumnarFlightStore(flightJpaRepository, flightMapper, meterRegistry);
+        };
+    }
+}
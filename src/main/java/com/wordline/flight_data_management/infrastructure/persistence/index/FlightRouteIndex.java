@@ -0,0 +1,137 @@
+package com.wordline.flight_data_management.infrastructure.persistence.index;
+
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.domain.model.FlightSearchKey;
+import com.wordline.flight_data_management.infrastructure.persistence.mapper.FlightMapper;
+import com.wordline.flight_data_management.infrastructure.persistence.repository.FlightJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class FlightRouteIndex extends PreloadedFlightReadModel {
+
+    private static final ZoneId UTC_ZONE = ZoneId.of("UTC");
+    private static final Comparator<Flight> BY_DEPARTURE_TIME =
+            Comparator.comparing(Flight::getDepartureTime, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private record RouteDay(String departureAirport, String destinationAirport, LocalDate departureDay) {
+    }
+
+    // Buckets are replaced, never mutated, so searches read them without locking
+    private final Map<RouteDay, List<Flight>> flightsByRoute = new ConcurrentHashMap<>();
+    private final Map<UUID, Flight> flightsById = new HashMap<>();
+
+    public FlightRouteIndex(FlightJpaRepository flightJpaRepository, FlightMapper flightMapper, MeterRegistry meterRegistry) {
+        super("route-index", flightJpaRepository, flightMapper, meterRegistry);
+    }
+
+    @Override
+    public boolean canServe(FlightSearchCriteria criteria) {
+        return isLoaded() && criteria != null
+                && hasText(criteria.getDepartureAirport())
+                && hasText(criteria.getDestinationAirport())
+                && criteria.getDepartureTime() != null;
+    }
+
+    @Override
+    public List<Flight> find(FlightSearchCriteria criteria) {
+        RouteDay route = new RouteDay(criteria.getDepartureAirport(), criteria.getDestinationAirport(),
+                criteria.getDepartureTime().toLocalDate());
+
+        // Flights are mutable, so callers get copies and can never change what the index holds
+        List<Flight> matches = new ArrayList<>();
+        for (Flight flight : flightsByRoute.getOrDefault(route, List.of())) {
+            if (matchesAirline(flight, criteria) && matchesArrivalDay(flight, criteria)) {
+                matches.add(copyOf(flight));
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public synchronized int size() {
+        return flightsById.size();
+    }
+
+    @Override
+    protected void apply(Flight flight) {
+        Flight indexed = copyOf(flight);
+        unlink(indexed.getId());
+        flightsById.put(indexed.getId(), indexed);
+        flightsByRoute.compute(routeOf(indexed), (r, flights) -> {
+            List<Flight> updated = flights == null ? new ArrayList<>() : new ArrayList<>(flights);
+            updated.add(indexed);
+            updated.sort(BY_DEPARTURE_TIME);
+            return List.copyOf(updated);
+        });
+    }
+
+    @Override
+    protected void unlink(UUID id) {
+        Flight removed = flightsById.remove(id);
+        if (removed == null) {
+            return;
+        }
+        flightsByRoute.computeIfPresent(routeOf(removed), (r, flights) -> {
+            List<Flight> remaining = flights.stream()
+                    .filter(flight -> !flight.getId().equals(id))
+                    .toList();
+            return remaining.isEmpty() ? null : remaining;
+        });
+    }
+
+    @Override
+    protected Long versionOf(UUID id) {
+        Flight indexed = flightsById.get(id);
+        return indexed == null ? null : indexed.getVersion();
+    }
+
+    private static RouteDay routeOf(Flight flight) {
+        LocalDate departureDay = flight.getDepartureTime() == null
+                ? null
+                : flight.getDepartureTime().withZoneSameInstant(UTC_ZONE).toLocalDate();
+        return new RouteDay(flight.getDepartureAirport(), flight.getDestinationAirport(), departureDay);
+    }
+
+    private static boolean matchesAirline(Flight flight, FlightSearchCriteria criteria) {
+        return !hasText(criteria.getAirline()) || criteria.getAirline().equals(flight.getAirline());
+    }
+
+    private static boolean matchesArrivalDay(Flight flight, FlightSearchCriteria criteria) {
+        if (criteria.getArrivalTime() == null) {
+            return true;
+        }
+        if (flight.getArrivalTime() == null) {
+            return false;
+        }
+        return !flight.getArrivalTime().isBefore(FlightSearchKey.dayStart(criteria.getArrivalTime()))
+                && flight.getArrivalTime().isBefore(FlightSearchKey.dayEnd(criteria.getArrivalTime()));
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+
+    private static Flight copyOf(Flight flight) {
+        return Flight.builder()
+                .id(flight.getId())
+                .airline(flight.getAirline())
+                .supplier(flight.getSupplier())
+                .fare(flight.getFare())
+                .departureAirport(flight.getDepartureAirport())
+                .destinationAirport(flight.getDestinationAirport())
+                .departureTime(flight.getDepartureTime())
+                .arrivalTime(flight.getArrivalTime())
+                .version(flight.getVersion())
+                .build();
+    }
+}
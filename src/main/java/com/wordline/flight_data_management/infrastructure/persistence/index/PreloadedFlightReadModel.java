@@ -0,0 +1,110 @@
+package com.wordline.flight_data_management.infrastructure.persistence.index;
+
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.infrastructure.persistence.mapper.FlightMapper;
+import com.wordline.flight_data_management.infrastructure.persistence.repository.FlightJpaRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Slf4j
+public abstract class PreloadedFlightReadModel implements FlightReadModel {
+
+    private final String name;
+    private final FlightJpaRepository flightJpaRepository;
+    private final FlightMapper flightMapper;
+    private final List<Consumer<PreloadedFlightReadModel>> writesDuringLoad = new ArrayList<>();
+    private boolean loading;
+    private volatile boolean loaded;
+
+    protected PreloadedFlightReadModel(String name, FlightJpaRepository flightJpaRepository, FlightMapper flightMapper,
+                                       MeterRegistry meterRegistry) {
+        this.name = name;
+        this.flightJpaRepository = flightJpaRepository;
+        this.flightMapper = flightMapper;
+        Gauge.builder("flight.read-model.size", this, PreloadedFlightReadModel::size)
+                .description("Flights held by the in-memory read model")
+                .tag("model", name)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (this) {
+            loading = true;
+        }
+
+        long start = System.nanoTime();
+        List<Flight> flights;
+        try {
+            flights = flightMapper.toDomainList(flightJpaRepository.findAll());
+        } catch (RuntimeException e) {
+            // Left unloaded the model never serves a search, so writes go straight in instead of queueing forever
+            synchronized (this) {
+                loading = false;
+                writesDuringLoad.clear();
+            }
+            log.error("Could not load the {} read model, searches keep using the database", name, e);
+            return;
+        }
+
+        synchronized (this) {
+            flights.forEach(this::apply);
+            // Writes committed while the snapshot was read are replayed on top of it in commit order
+            writesDuringLoad.forEach(write -> write.accept(this));
+            writesDuringLoad.clear();
+            loaded = true;
+        }
+        log.info("Loaded {} flights into the {} read model in {} ms", flights.size(), name, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    @Override
+    public final synchronized void upsert(Flight flight) {
+        if (loading && !loaded) {
+            writesDuringLoad.add(model -> model.applyIfNewer(flight));
+            return;
+        }
+        applyIfNewer(flight);
+    }
+
+    // After-commit callbacks of concurrent transactions can run in either order, so an older version is dropped
+    private void applyIfNewer(Flight flight) {
+        Long held = versionOf(flight.getId());
+        if (held != null && flight.getVersion() != null && flight.getVersion() < held) {
+            log.debug("Ignoring version {} of flight {}, the {} read model already holds version {}",
+                    flight.getVersion(), flight.getId(), name, held);
+            return;
+        }
+        apply(flight);
+    }
+
+    @Override
+    public final synchronized void remove(UUID id) {
+        if (loading && !loaded) {
+            writesDuringLoad.add(model -> model.unlink(id));
+            return;
+        }
+        unlink(id);
+    }
+
+    public abstract int size();
+
+    // Called with the model's monitor held, so implementations only need to guard against concurrent readers
+    protected abstract void apply(Flight flight);
+
+    // The version of the held flight, null when it is not held or has no version
+    protected abstract Long versionOf(UUID id);
+
+    protected abstract void unlink(UUID id);
+}
@@ -0,0 +1,145 @@
+package com.wordline.flight_data_management.infrastructure.persistence.jdbc;
+
+import com.wordline.flight_data_management.domain.model.BulkItemResult;
+import com.wordline.flight_data_management.domain.model.BulkItemResult.Outcome;
+import com.wordline.flight_data_management.domain.model.Flight;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class FlightBatchWriter {
+
+    private static final String INSERT_SQL = "insert into flights (id, airline, supplier, fare, departure_airport, "
+            + "destination_airport, departure_time, arrival_time, version) values (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String UPDATE_SQL = "update flights set airline = ?, supplier = ?, fare = ?, departure_airport = ?, "
+            + "destination_airport = ?, departure_time = ?, arrival_time = ?, version = version + 1 where id = ?";
+    private static final String DELETE_SQL = "delete from flights where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int chunkSize;
+
+    public FlightBatchWriter(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${flight.bulk.batch-size:500}") int batchSize,
+                             @Value("${flight.bulk.chunk-size:5000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    public List<BulkItemResult> insert(List<Flight> flights) {
+        log.debug("Batch inserting {} flights", flights.size());
+        return writeInChunks(flights, Flight::getId, INSERT_SQL, FlightBatchWriter::bindInsert, Outcome.CREATED);
+    }
+
+    public List<BulkItemResult> update(List<Flight> flights) {
+        log.debug("Batch updating {} flights", flights.size());
+        return writeInChunks(flights, Flight::getId, UPDATE_SQL, FlightBatchWriter::bindUpdate, Outcome.UPDATED);
+    }
+
+    public List<BulkItemResult> delete(List<UUID> ids) {
+        log.debug("Batch deleting {} flights", ids.size());
+        return writeInChunks(ids, Function.identity(), DELETE_SQL, (ps, id) -> ps.setObject(1, id), Outcome.DELETED);
+    }
+
+    // Each chunk commits on its own, so a failure only costs the rows of its chunk
+    private <T> List<BulkItemResult> writeInChunks(List<T> items, Function<T, UUID> idOf, String sql,
+                                                   ParameterizedPreparedStatementSetter<T> setter, Outcome outcome) {
+        List<BulkItemResult> results = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<T> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            results.addAll(writeChunk(chunk, from, idOf, sql, setter, outcome));
+        }
+        return results;
+    }
+
+    private <T> List<BulkItemResult> writeChunk(List<T> chunk, int offset, Function<T, UUID> idOf, String sql,
+                                                ParameterizedPreparedStatementSetter<T> setter, Outcome outcome) {
+        int[][] counts;
+        try {
+            counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(sql, chunk, batchSize, setter));
+        } catch (DataAccessException e) {
+            // The chunk was rolled back as a whole, replaying it row by row tells the bad rows from the good ones
+            log.warn("Batch of {} flights failed, retrying row by row: {}", chunk.size(), e.getMostSpecificCause().getMessage());
+            return writeRowByRow(chunk, offset, idOf, sql, setter, outcome);
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        int position = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                results.add(toResult(offset + position, idOf.apply(chunk.get(position)), count, outcome));
+                position++;
+            }
+        }
+        return results;
+    }
+
+    private <T> List<BulkItemResult> writeRowByRow(List<T> chunk, int offset, Function<T, UUID> idOf, String sql,
+                                                   ParameterizedPreparedStatementSetter<T> setter, Outcome outcome) {
+        List<BulkItemResult> results = new ArrayList<>(chunk.size());
+        for (int position = 0; position < chunk.size(); position++) {
+            T item = chunk.get(position);
+            UUID id = idOf.apply(item);
+            try {
+                Integer count = transactionTemplate.execute(status -> jdbcTemplate.update(sql, ps -> setter.setValues(ps, item)));
+                results.add(toResult(offset + position, id, count, outcome));
+            } catch (DuplicateKeyException e) {
+                results.add(BulkItemResult.failed(offset + position, id, Outcome.CONFLICT, "Flight already exists"));
+            } catch (DataAccessException e) {
+                results.add(BulkItemResult.failed(offset + position, id, Outcome.FAILED, e.getMostSpecificCause().getMessage()));
+            }
+        }
+        return results;
+    }
+
+    // Drivers may report SUCCESS_NO_INFO instead of a row count, only an explicit 0 means no row matched
+    private static BulkItemResult toResult(int index, UUID id, int count, Outcome outcome) {
+        return count == 0
+                ? BulkItemResult.failed(index, id, Outcome.NOT_FOUND, "Flight not found")
+                : BulkItemResult.succeeded(index, id, outcome);
+    }
+
+    private static void bindInsert(PreparedStatement ps, Flight flight) throws SQLException {
+        ps.setObject(1, flight.getId());
+        bindColumns(ps, flight, 2);
+    }
+
+    private static void bindUpdate(PreparedStatement ps, Flight flight) throws SQLException {
+        bindColumns(ps, flight, 1);
+        ps.setObject(8, flight.getId());
+    }
+
+    private static void bindColumns(PreparedStatement ps, Flight flight, int first) throws SQLException {
+        ps.setString(first, flight.getAirline());
+        ps.setString(first + 1, flight.getSupplier());
+        ps.setBigDecimal(first + 2, flight.getFare());
+        ps.setString(first + 3, flight.getDepartureAirport());
+        ps.setString(first + 4, flight.getDestinationAirport());
+        ps.setObject(first + 5, toOffsetDateTime(flight.getDepartureTime()));
+        ps.setObject(first + 6, toOffsetDateTime(flight.getArrivalTime()));
+    }
+
+    private static Object toOffsetDateTime(ZonedDateTime time) {
+        return time == null ? null : time.toOffsetDateTime();
+    }
+}
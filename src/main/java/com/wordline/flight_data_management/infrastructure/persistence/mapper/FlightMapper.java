@@ -24,6 +24,7 @@ public class FlightMapper {
                 .destinationAirport(flight.getDestinationAirport())
                 .departureTime(flight.getDepartureTime())
                 .arrivalTime(flight.getArrivalTime())
+                .version(flight.getVersion())
                 .build();
     }
 
@@ -41,6 +42,7 @@ public class FlightMapper {
                 .destinationAirport(entity.getDestinationAirport())
                 .departureTime(entity.getDepartureTime())
                 .arrivalTime(entity.getArrivalTime())
+                .version(entity.getVersion())
                 .build();
     }
 
@@ -1,12 +1,61 @@
 package com.wordline.flight_data_management.infrastructure.persistence.repository;
 
+import com.wordline.flight_data_management.domain.model.Flight;
 import com.wordline.flight_data_management.infrastructure.persistence.entity.FlightEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface FlightJpaRepository extends JpaRepository<FlightEntity, UUID>, JpaSpecificationExecutor<FlightEntity> {
+public interface FlightJpaRepository extends JpaRepository<FlightEntity, UUID>, JpaSpecificationExecutor<FlightEntity>,
+        FlightProjectionRepository {
+
+    // Reads build Flight straight from the row: no managed entity, no snapshot, no mapper copy
+    String FLIGHT_PROJECTION = "select new com.wordline.flight_data_management.domain.model.Flight(" +
+            "f.id, f.airline, f.supplier, f.fare, f.departureAirport, f.destinationAirport, " +
+            "f.departureTime, f.arrivalTime, f.version) from FlightEntity f";
+
+    @Query(FLIGHT_PROJECTION + " where f.id = :id")
+    Optional<Flight> findFlightById(@Param("id") UUID id);
+
+    @Query(FLIGHT_PROJECTION)
+    List<Flight> findAllFlights();
+
+    @Query(FLIGHT_PROJECTION + " where f.id in :ids")
+    List<Flight> findFlightsByIds(@Param("ids") Collection<UUID> ids);
+
+    List<FlightEntity> findAllByOrderByDepartureTimeAscIdAsc(Pageable pageable);
+
+    @Query("select f from FlightEntity f " +
+            "where f.departureTime > :departureTime or (f.departureTime = :departureTime and f.id > :id) " +
+            "order by f.departureTime asc, f.id asc")
+    List<FlightEntity> findPageAfter(@Param("departureTime") ZonedDateTime departureTime,
+                                     @Param("id") UUID id,
+                                     Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select f from FlightEntity f order by f.departureTime asc, f.id asc")
+    Stream<FlightEntity> streamAllOrdered();
+
+    // Bulk statements bypass the persistence context, so it is flushed before and cleared after them
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from FlightEntity f where f.id = :id and (:expectedVersion is null or f.version = :expectedVersion)")
+    int deleteFlight(@Param("id") UUID id, @Param("expectedVersion") Long expectedVersion);
 }
@@ -0,0 +1,13 @@
+package com.wordline.flight_data_management.infrastructure.persistence.repository;
+
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.infrastructure.persistence.entity.FlightEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface FlightProjectionRepository {
+
+    // Flights matching the specification, ordered by departure time, built straight from the result set
+    List<Flight> findFlights(Specification<FlightEntity> specification);
+}
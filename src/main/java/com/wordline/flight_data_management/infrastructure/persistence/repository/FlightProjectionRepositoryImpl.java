@@ -0,0 +1,44 @@
+package com.wordline.flight_data_management.infrastructure.persistence.repository;
+
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.infrastructure.persistence.entity.FlightEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class FlightProjectionRepositoryImpl implements FlightProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Flight> findFlights(Specification<FlightEntity> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Flight> query = criteriaBuilder.createQuery(Flight.class);
+        Root<FlightEntity> root = query.from(FlightEntity.class);
+        // Same column order as FlightJpaRepository.FLIGHT_PROJECTION
+        query.select(criteriaBuilder.construct(Flight.class,
+                root.get("id"),
+                root.get("airline"),
+                root.get("supplier"),
+                root.get("fare"),
+                root.get("departureAirport"),
+                root.get("destinationAirport"),
+                root.get("departureTime"),
+                root.get("arrivalTime"),
+                root.get("version")));
+
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(criteriaBuilder.asc(root.get("departureTime")));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -1,6 +1,7 @@
 package com.wordline.flight_data_management.infrastructure.persistence.specification;
 
 import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.domain.model.FlightSearchKey;
 import com.wordline.flight_data_management.infrastructure.persistence.entity.FlightEntity;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
@@ -9,17 +10,12 @@ import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Component
 public class FlightSpecification {
 
-    private static final ZoneId UTC_ZONE = ZoneId.of("UTC");
-
-
     public Specification<FlightEntity> byCriteria(FlightSearchCriteria criteria) {
         return (Root<FlightEntity> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -37,21 +33,13 @@ public class FlightSpecification {
             }
 
             if (criteria.getDepartureTime() != null) {
-                ZonedDateTime departureDateTime = criteria.getDepartureTime();
-                ZonedDateTime departureStart = departureDateTime.toLocalDate().atStartOfDay(UTC_ZONE);
-                ZonedDateTime departureEnd = departureDateTime.toLocalDate().plusDays(1).atStartOfDay(UTC_ZONE);
-
-                predicates.add(cb.greaterThanOrEqualTo(root.get("departureTime"), departureStart));
-                predicates.add(cb.lessThan(root.get("departureTime"), departureEnd));
+                predicates.add(cb.greaterThanOrEqualTo(root.get("departureTime"), FlightSearchKey.dayStart(criteria.getDepartureTime())));
+                predicates.add(cb.lessThan(root.get("departureTime"), FlightSearchKey.dayEnd(criteria.getDepartureTime())));
             }
 
             if (criteria.getArrivalTime() != null) {
-                ZonedDateTime arrivalDateTime = criteria.getArrivalTime();
-                ZonedDateTime arrivalStart = arrivalDateTime.toLocalDate().atStartOfDay(UTC_ZONE);
-                ZonedDateTime arrivalEnd = arrivalDateTime.toLocalDate().plusDays(1).atStartOfDay(UTC_ZONE);
-
-                predicates.add(cb.greaterThanOrEqualTo(root.get("arrivalTime"), arrivalStart));
-                predicates.add(cb.lessThan(root.get("arrivalTime"), arrivalEnd));
+                predicates.add(cb.greaterThanOrEqualTo(root.get("arrivalTime"), FlightSearchKey.dayStart(criteria.getArrivalTime())));
+                predicates.add(cb.lessThan(root.get("arrivalTime"), FlightSearchKey.dayEnd(criteria.getArrivalTime())));
             }
 
             return predicates.isEmpty() ? null : cb.and(predicates.toArray(new Predicate[0]));
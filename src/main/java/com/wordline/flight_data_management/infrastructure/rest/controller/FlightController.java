@@ -1,10 +1,25 @@
 package com.wordline.flight_data_management.infrastructure.rest.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.wordline.flight_data_management.application.port.in.FlightService;
+import com.wordline.flight_data_management.application.port.in.ReactiveFlightService;
+import com.wordline.flight_data_management.domain.exception.ValidationException;
+import com.wordline.flight_data_management.domain.model.BulkItemResult;
 import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightCursor;
+import com.wordline.flight_data_management.domain.model.FlightPage;
+import com.wordline.flight_data_management.domain.model.FlightPatch;
 import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.infrastructure.cache.EncodedResponseCache;
+import com.wordline.flight_data_management.infrastructure.cache.EncodedResponseCache.EncodedResponse;
+import com.wordline.flight_data_management.infrastructure.rest.dto.BulkCreateFlightsRequest;
+import com.wordline.flight_data_management.infrastructure.rest.dto.BulkDeleteFlightsRequest;
+import com.wordline.flight_data_management.infrastructure.rest.dto.BulkResultDto;
+import com.wordline.flight_data_management.infrastructure.rest.dto.BulkUpdateFlightsRequest;
 import com.wordline.flight_data_management.infrastructure.rest.dto.CreateFlightRequest;
 import com.wordline.flight_data_management.infrastructure.rest.dto.FlightDto;
+import com.wordline.flight_data_management.infrastructure.rest.dto.FlightPageDto;
 import com.wordline.flight_data_management.infrastructure.rest.dto.FlightSearchRequest;
 import com.wordline.flight_data_management.infrastructure.rest.dto.UpdateFlightRequest;
 import com.wordline.flight_data_management.infrastructure.rest.mapper.FlightDtoMapper;
@@ -18,12 +33,23 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/flights")
@@ -32,8 +58,13 @@ import java.util.UUID;
 @Tag(name = "Flight", description = "Flight management API")
 public class FlightController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final FlightService flightService;
     private final FlightDtoMapper flightDtoMapper;
+    private final ReactiveFlightService reactiveFlightService;
+    private final ObjectMapper objectMapper;
+    private final EncodedResponseCache encodedResponseCache;
 
     @PostMapping
     @Operation(summary = "Create a new flight")
@@ -48,7 +79,56 @@ public class FlightController {
         Flight flight = flightDtoMapper.toDomain(request);
         Flight createdFlight = flightService.createFlight(flight);
         FlightDto response = flightDtoMapper.toDto(createdFlight);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+        return withETag(ResponseEntity.status(HttpStatus.CREATED), flightDtoMapper.toETag(createdFlight))
+                .body(response);
+    }
+
+    @PostMapping("/bulk")
+    @Operation(summary = "Create many flights with batched inserts")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Outcome of every flight, in request order",
+                    content = @Content(schema = @Schema(implementation = BulkResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input")
+    })
+    public ResponseEntity<BulkResultDto> createFlights(
+            @Valid @RequestBody BulkCreateFlightsRequest request) {
+        log.debug("Creating {} flights", request.getFlights().size());
+        List<Flight> flights = request.getFlights().stream()
+                .map(flightDtoMapper::toDomain)
+                .toList();
+        List<BulkItemResult> results = flightService.createFlights(flights);
+        return ResponseEntity.ok(flightDtoMapper.toBulkResultDto(results));
+    }
+
+    @PutMapping("/bulk")
+    @Operation(summary = "Replace many flights with batched updates")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Outcome of every flight, in request order",
+                    content = @Content(schema = @Schema(implementation = BulkResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input")
+    })
+    public ResponseEntity<BulkResultDto> updateFlights(
+            @Valid @RequestBody BulkUpdateFlightsRequest request) {
+        log.debug("Updating {} flights", request.getFlights().size());
+        List<Flight> flights = request.getFlights().stream()
+                .map(flightDtoMapper::toDomain)
+                .toList();
+        List<BulkItemResult> results = flightService.updateFlights(flights);
+        return ResponseEntity.ok(flightDtoMapper.toBulkResultDto(results));
+    }
+
+    @PostMapping("/bulk/delete")
+    @Operation(summary = "Delete many flights with batched deletes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Outcome of every id, in request order",
+                    content = @Content(schema = @Schema(implementation = BulkResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input")
+    })
+    public ResponseEntity<BulkResultDto> deleteFlights(
+            @Valid @RequestBody BulkDeleteFlightsRequest request) {
+        log.debug("Deleting {} flights", request.getIds().size());
+        List<BulkItemResult> results = flightService.deleteFlights(request.getIds());
+        return ResponseEntity.ok(flightDtoMapper.toBulkResultDto(results));
     }
 
     @PutMapping("/{id}")
@@ -57,20 +137,36 @@ public class FlightController {
             @ApiResponse(responseCode = "200", description = "Flight updated",
                     content = @Content(schema = @Schema(implementation = FlightDto.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
-            @ApiResponse(responseCode = "404", description = "Flight not found")
+            @ApiResponse(responseCode = "404", description = "Flight not found"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not name the current version")
     })
     public ResponseEntity<FlightDto> updateFlight(
             @Parameter(description = "Flight ID") @PathVariable UUID id,
+            @Parameter(description = "ETag of the version being updated") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateFlightRequest request) {
         log.debug("Updating flight with id: {}", id);
-        return flightService.getFlightById(id)
-                .map(existingFlight -> {
-                    Flight flight = flightDtoMapper.toDomain(id, request, existingFlight);
-                    Flight updatedFlight = flightService.updateFlight(id, flight);
-                    FlightDto response = flightDtoMapper.toDto(updatedFlight);
-                    return ResponseEntity.ok(response);
-                })
-                .orElse(ResponseEntity.notFound().build());
+        // Omitted fields keep their value, so this is the same conditional update as PATCH
+        return patchFlight(id, ifMatch, request);
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Update only the given fields of a flight")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Flight updated",
+                    content = @Content(schema = @Schema(implementation = FlightDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "404", description = "Flight not found"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not name the current version")
+    })
+    public ResponseEntity<FlightDto> patchFlight(
+            @Parameter(description = "Flight ID") @PathVariable UUID id,
+            @Parameter(description = "ETag of the version being updated") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UpdateFlightRequest request) {
+        log.debug("Patching flight with id: {}", id);
+        FlightPatch patch = flightDtoMapper.toPatch(request);
+        Flight patchedFlight = flightService.patchFlight(id, patch, flightDtoMapper.toExpectedVersion(ifMatch));
+        return withETag(ResponseEntity.ok(), flightDtoMapper.toETag(patchedFlight))
+                .body(flightDtoMapper.toDto(patchedFlight));
     }
 
     @GetMapping("/{id}")
@@ -78,16 +174,17 @@ public class FlightController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Flight found",
                     content = @Content(schema = @Schema(implementation = FlightDto.class))),
+            @ApiResponse(responseCode = "304", description = "If-None-Match names the current version"),
             @ApiResponse(responseCode = "404", description = "Flight not found")
     })
-    public ResponseEntity<FlightDto> getFlightById(
-            @Parameter(description = "Flight ID") @PathVariable UUID id) {
+    public ResponseEntity<?> getFlightById(
+            @Parameter(description = "Flight ID") @PathVariable UUID id,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         log.debug("Getting flight with id: {}", id);
+        // Spring answers 304 without writing the body when If-None-Match matches the ETag
         return flightService.getFlightById(id)
-                .map(flight -> {
-                    FlightDto response = flightDtoMapper.toDto(flight);
-                    return ResponseEntity.ok(response);
-                })
+                .<ResponseEntity<?>>map(flight -> respond(id, flight, accept,
+                        () -> flightDtoMapper.toETag(flight), () -> flightDtoMapper.toDto(flight)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -102,29 +199,153 @@ public class FlightController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get one page of flights ordered by departure time")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Flights page",
+                    content = @Content(schema = @Schema(implementation = FlightPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
+    public ResponseEntity<FlightPageDto> getFlightPage(
+            @Parameter(description = "nextCursor of the previous page, omitted for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + MAX_PAGE_SIZE)
+            @RequestParam(defaultValue = "100") int limit) {
+        log.debug("Getting {} flights after cursor: {}", limit, cursor);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Invalid page size",
+                    Map.of("limit", "Limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        FlightCursor after = flightDtoMapper.toCursor(cursor);
+        FlightPage page = flightService.getFlightPage(after, limit);
+        return ResponseEntity.ok(flightDtoMapper.toPageDto(page));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all flights as NDJSON, streamed straight from the database")
+    @ApiResponse(responseCode = "200", description = "One flight per line, ordered by departure time",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = FlightDto.class)))
+    public ResponseEntity<StreamingResponseBody> exportFlights() {
+        log.debug("Exporting all flights");
+        ObjectWriter writer = objectMapper.writerFor(FlightDto.class);
+        StreamingResponseBody body = outputStream -> flightService.exportFlights(flight -> {
+            try {
+                outputStream.write(writer.writeValueAsBytes(flightDtoMapper.toDto(flight)));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @PostMapping("/search")
     @Operation(summary = "Search for flights")
     @ApiResponse(responseCode = "200", description = "Search results",
             content = @Content(schema = @Schema(implementation = FlightDto.class)))
-    public ResponseEntity<List<FlightDto>> searchFlights(
-            @Valid @RequestBody FlightSearchRequest request) {
+    public ResponseEntity<List<FlightDto>> searchFlights(@Valid @RequestBody FlightSearchRequest request) {
         log.debug("Searching flights with criteria: {}", request);
+        return search(flightDtoMapper.toDomain(request));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search for flights with query parameters, cacheable by clients through ETags")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results",
+                    content = @Content(schema = @Schema(implementation = FlightDto.class))),
+            @ApiResponse(responseCode = "304", description = "If-None-Match names the current results")
+    })
+    public ResponseEntity<List<FlightDto>> searchFlightsByQuery(@Valid @ModelAttribute FlightSearchRequest request) {
+        log.debug("Searching flights with query: {}", request);
+        return search(flightDtoMapper.toDomain(request));
+    }
+
+    @PostMapping("/search/reactive")
+    @Operation(summary = "Search for flights without holding a request thread while suppliers respond")
+    @ApiResponse(responseCode = "200", description = "Search results",
+            content = @Content(schema = @Schema(implementation = FlightDto.class)))
+    public Mono<List<FlightDto>> searchFlightsReactive(
+            @Valid @RequestBody FlightSearchRequest request) {
+        log.debug("Reactively searching flights with criteria: {}", request);
         FlightSearchCriteria criteria = flightDtoMapper.toDomain(request);
-        List<Flight> flights = flightService.searchFlights(criteria);
-        List<FlightDto> response = flightDtoMapper.toDtoList(flights);
-        return ResponseEntity.ok(response);
+        return reactiveFlightService.searchFlights(criteria)
+                .map(flightDtoMapper::toDto)
+                .collectList();
+    }
+
+    @PostMapping(value = "/search/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Stream search results as each source returns them")
+    @ApiResponse(responseCode = "200", description = "Search results, one flight per NDJSON line or SSE event",
+            content = {
+                    @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = FlightDto.class)),
+                    @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = FlightDto.class))
+            })
+    public Flux<FlightDto> streamSearchFlights(
+            @Valid @RequestBody FlightSearchRequest request) {
+        log.debug("Streaming flights with criteria: {}", request);
+        FlightSearchCriteria criteria = flightDtoMapper.toDomain(request);
+        return reactiveFlightService.searchFlights(criteria)
+                .map(flightDtoMapper::toDto);
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a flight by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Flight deleted"),
-            @ApiResponse(responseCode = "404", description = "Flight not found")
+            @ApiResponse(responseCode = "404", description = "Flight not found"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not name the current version")
     })
     public ResponseEntity<Void> deleteFlight(
-            @Parameter(description = "Flight ID") @PathVariable UUID id) {
+            @Parameter(description = "Flight ID") @PathVariable UUID id,
+            @Parameter(description = "ETag of the version being deleted") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.debug("Deleting flight with id: {}", id);
-        flightService.deleteFlight(id);
+        flightService.deleteFlight(id, flightDtoMapper.toExpectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<List<FlightDto>> search(FlightSearchCriteria criteria) {
+        // Supplier flights are merged in on every search, so its body is never the same cached value twice
+        List<Flight> flights = flightService.searchFlights(criteria);
+        return withETag(ResponseEntity.ok(), flightDtoMapper.toETag(flights)).body(flightDtoMapper.toDtoList(flights));
+    }
+
+    // With the encoded response cache on, a repeated hit skips DTO mapping and JSON encoding and writes the cached bytes
+    private ResponseEntity<?> respond(Object key, Object source, String accept, Supplier<String> eTag, Supplier<?> body) {
+        if (!encodedResponseCache.isEnabled() || !prefersJson(accept)) {
+            return withETag(ResponseEntity.ok(), eTag.get()).body(body.get());
+        }
+        EncodedResponse response = encodedResponseCache.get(key, source,
+                () -> new EncodedResponse(eTag.get(), encode(body.get())));
+        return withETag(ResponseEntity.ok(), response.eTag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response.body());
+    }
+
+    // Cached bodies are JSON, other negotiated formats go through their converter
+    private static boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(mediaTypes);
+            return mediaTypes.isEmpty() || mediaTypes.getFirst().isCompatibleWith(MediaType.APPLICATION_JSON);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private byte[] encode(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, String eTag) {
+        return eTag == null ? builder : builder.eTag(eTag);
+    }
 }
@@ -0,0 +1,15 @@
+package com.wordline.flight_data_management.infrastructure.rest.converter;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.ZonedDateTime;
+
+// Binary formats carry times as epoch milliseconds instead of the formatted strings JSON uses
+abstract class BinaryFlightDtoMixin {
+
+    @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+    private ZonedDateTime departureTime;
+
+    @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+    private ZonedDateTime arrivalTime;
+}
@@ -0,0 +1,127 @@
+package com.wordline.flight_data_management.infrastructure.rest.converter;
+
+import com.wordline.flight_data_management.infrastructure.rest.dto.FlightDto;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+// Writes flights in the schema of src/main/resources/proto/flight.proto without generated classes
+public class FlightProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final int FLIGHT_LIST_FLIGHTS = 1;
+
+    private static final int ID = 1;
+    private static final int AIRLINE = 2;
+    private static final int SUPPLIER = 3;
+    private static final int FARE_UNSCALED = 4;
+    private static final int FARE_SCALE = 5;
+    private static final int DEPARTURE_AIRPORT = 6;
+    private static final int DESTINATION_AIRPORT = 7;
+    private static final int DEPARTURE_TIME = 8;
+    private static final int DEPARTURE_OFFSET = 9;
+    private static final int ARRIVAL_TIME = 10;
+    private static final int ARRIVAL_OFFSET = 11;
+    private static final int VERSION = 12;
+
+    // A flight with three-letter codes and short names encodes to well under this
+    private static final int FLIGHT_BYTES = 96;
+
+    public FlightProtobufHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return FlightDto.class.isAssignableFrom(clazz) || Collection.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf is only supported for responses", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        ProtobufWriter writer;
+        if (body instanceof FlightDto flight) {
+            writer = new ProtobufWriter(FLIGHT_BYTES);
+            writeFlight(flight, writer);
+        } else {
+            Collection<?> flights = (Collection<?>) body;
+            writer = new ProtobufWriter(FLIGHT_BYTES * Math.max(flights.size(), 1));
+            // Each flight is encoded once into the scratch buffer, then copied behind its length prefix
+            ProtobufWriter scratch = new ProtobufWriter(FLIGHT_BYTES);
+            for (Object element : flights) {
+                if (!(element instanceof FlightDto flight)) {
+                    throw new HttpMessageNotWritableException("Only flights can be written as " + APPLICATION_PROTOBUF);
+                }
+                scratch.reset();
+                writeFlight(flight, scratch);
+                writer.writeMessage(FLIGHT_LIST_FLIGHTS, scratch);
+            }
+        }
+        outputMessage.getHeaders().setContentLength(writer.size());
+        writer.writeTo(outputMessage.getBody());
+    }
+
+    private static void writeFlight(FlightDto flight, ProtobufWriter writer) {
+        if (flight.getId() != null) {
+            writer.writeBytes(ID, toBytes(flight.getId()));
+        }
+        writer.writeString(AIRLINE, flight.getAirline());
+        writer.writeString(SUPPLIER, flight.getSupplier());
+        writeFare(flight.getFare(), writer);
+        writer.writeString(DEPARTURE_AIRPORT, flight.getDepartureAirport());
+        writer.writeString(DESTINATION_AIRPORT, flight.getDestinationAirport());
+        writeTime(DEPARTURE_TIME, DEPARTURE_OFFSET, flight.getDepartureTime(), writer);
+        writeTime(ARRIVAL_TIME, ARRIVAL_OFFSET, flight.getArrivalTime(), writer);
+        if (flight.getVersion() != null) {
+            writer.writeUInt(VERSION, flight.getVersion());
+        }
+    }
+
+    private static void writeFare(BigDecimal fare, ProtobufWriter writer) {
+        if (fare == null) {
+            return;
+        }
+        BigInteger unscaled = fare.unscaledValue();
+        if (unscaled.bitLength() > Long.SIZE - 1) {
+            throw new HttpMessageNotWritableException("Fare " + fare + " does not fit the protobuf fare encoding");
+        }
+        writer.writeSInt(FARE_UNSCALED, unscaled.longValue());
+        writer.writeSInt(FARE_SCALE, fare.scale());
+    }
+
+    private static void writeTime(int timeField, int offsetField, ZonedDateTime time, ProtobufWriter writer) {
+        if (time == null) {
+            return;
+        }
+        writer.writeSInt(timeField, time.toEpochSecond());
+        writer.writeSInt(offsetField, time.getOffset().getTotalSeconds());
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
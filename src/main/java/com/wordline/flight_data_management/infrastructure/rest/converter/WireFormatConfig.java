@@ -0,0 +1,53 @@
+package com.wordline.flight_data_management.infrastructure.rest.converter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.wordline.flight_data_management.infrastructure.rest.dto.FlightDto;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public WireFormatConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring MVC registers plain CBOR and Smile converters after the JSON one when the formats are on the classpath.
+        // They are replaced in place, since the first matching converter wins, so JSON stays the default.
+        replaceOrAdd(converters, new MappingJackson2CborHttpMessageConverter(binaryObjectMapper(new CBORFactory())));
+        replaceOrAdd(converters, new MappingJackson2SmileHttpMessageConverter(binaryObjectMapper(new SmileFactory())));
+        converters.add(new FlightProtobufHttpMessageConverter());
+    }
+
+    private static void replaceOrAdd(List<HttpMessageConverter<?>> converters, HttpMessageConverter<?> converter) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i).getClass() == converter.getClass()) {
+                converters.set(i, converter);
+                return;
+            }
+        }
+        converters.add(converter);
+    }
+
+    private ObjectMapper binaryObjectMapper(JsonFactory factory) {
+        return objectMapperBuilder
+                .factory(factory)
+                .mixIn(FlightDto.class, BinaryFlightDtoMixin.class)
+                .featuresToDisable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS)
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.wordline.flight_data_management.infrastructure.rest.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteFlightsRequest {
+
+    @NotNull(message = "Ids are required")
+    @Size(min = 1, max = 50000, message = "Between 1 and 50000 ids per request")
+    private List<@NotNull UUID> ids;
+}
@@ -0,0 +1,22 @@
+package com.wordline.flight_data_management.infrastructure.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResultDto {
+    private int index;
+
+    private UUID id;
+
+    private String outcome;
+
+    private String message;
+}
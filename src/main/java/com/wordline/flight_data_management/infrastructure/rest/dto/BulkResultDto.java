@@ -0,0 +1,20 @@
+package com.wordline.flight_data_management.infrastructure.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResultDto {
+    private int succeeded;
+
+    private int failed;
+
+    private List<BulkItemResultDto> items;
+}
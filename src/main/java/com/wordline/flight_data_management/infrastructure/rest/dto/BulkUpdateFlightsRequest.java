@@ -0,0 +1,22 @@
+package com.wordline.flight_data_management.infrastructure.rest.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateFlightsRequest {
+
+    @NotNull(message = "Flights are required")
+    @Size(min = 1, max = 50000, message = "Between 1 and 50000 flights per request")
+    private List<@Valid @NotNull BulkUpdateFlightItem> flights;
+}
@@ -32,4 +32,6 @@ public class FlightDto {
 
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ssXXX")
     private ZonedDateTime arrivalTime;
+
+    private Long version;
 }
@@ -0,0 +1,18 @@
+package com.wordline.flight_data_management.infrastructure.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightPageDto {
+    private List<FlightDto> flights;
+
+    private String nextCursor;
+}
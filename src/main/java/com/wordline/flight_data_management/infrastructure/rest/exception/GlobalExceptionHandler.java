@@ -3,6 +3,7 @@ package com.wordline.flight_data_management.infrastructure.rest.exception;
 import com.wordline.flight_data_management.domain.exception.ExternalServiceException;
 import com.wordline.flight_data_management.domain.exception.FlightDataManagementException;
 import com.wordline.flight_data_management.domain.exception.FlightNotFoundException;
+import com.wordline.flight_data_management.domain.exception.FlightVersionConflictException;
 import com.wordline.flight_data_management.domain.exception.ValidationException;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -51,6 +52,17 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(FlightVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleFlightVersionConflictException(FlightVersionConflictException ex) {
+        log.error("Flight version conflict", ex);
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
     @ExceptionHandler(ValidationException.class)
     public ResponseEntity<ValidationErrorResponse> handleValidationException(ValidationException ex) {
         log.error("Validation error", ex);
@@ -1,20 +1,43 @@
 package com.wordline.flight_data_management.infrastructure.rest.mapper;
 
+import com.wordline.flight_data_management.domain.exception.ValidationException;
+import com.wordline.flight_data_management.domain.model.BulkItemResult;
 import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightCursor;
+import com.wordline.flight_data_management.domain.model.FlightPage;
+import com.wordline.flight_data_management.domain.model.FlightPatch;
 import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.infrastructure.rest.dto.BulkItemResultDto;
+import com.wordline.flight_data_management.infrastructure.rest.dto.BulkResultDto;
+import com.wordline.flight_data_management.infrastructure.rest.dto.BulkUpdateFlightItem;
 import com.wordline.flight_data_management.infrastructure.rest.dto.CreateFlightRequest;
 import com.wordline.flight_data_management.infrastructure.rest.dto.FlightDto;
+import com.wordline.flight_data_management.infrastructure.rest.dto.FlightPageDto;
 import com.wordline.flight_data_management.infrastructure.rest.dto.FlightSearchRequest;
 import com.wordline.flight_data_management.infrastructure.rest.dto.UpdateFlightRequest;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
 public class FlightDtoMapper {
 
+    private static final ZoneId UTC_ZONE = ZoneId.of("UTC");
+    private static final String CURSOR_SEPARATOR = "|";
+    // Parses from no flight's ETag, so a write guarded by it can never match
+    private static final long UNMATCHABLE_VERSION = -1L;
+
     public FlightDto toDto(Flight flight) {
         if (flight == null) {
             return null;
@@ -29,6 +52,7 @@ public class FlightDtoMapper {
                 .destinationAirport(flight.getDestinationAirport())
                 .departureTime(flight.getDepartureTime())
                 .arrivalTime(flight.getArrivalTime())
+                .version(flight.getVersion())
                 .build();
     }
 
@@ -42,6 +66,90 @@ public class FlightDtoMapper {
                 .collect(Collectors.toList());
     }
 
+    public FlightPageDto toPageDto(FlightPage page) {
+        return FlightPageDto.builder()
+                .flights(toDtoList(page.flights()))
+                .nextCursor(toCursorToken(page.nextCursor()))
+                .build();
+    }
+
+    public BulkResultDto toBulkResultDto(List<BulkItemResult> results) {
+        List<BulkItemResultDto> items = results.stream()
+                .map(result -> BulkItemResultDto.builder()
+                        .index(result.index())
+                        .id(result.id())
+                        .outcome(result.outcome().name())
+                        .message(result.message())
+                        .build())
+                .collect(Collectors.toList());
+        int succeeded = (int) results.stream().filter(BulkItemResult::isSuccess).count();
+
+        return BulkResultDto.builder()
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .items(items)
+                .build();
+    }
+
+    // Strong ETag: the version changes with every write to the stored flight
+    public String toETag(Flight flight) {
+        if (flight == null || flight.getVersion() == null) {
+            return null;
+        }
+        return "\"" + flight.getVersion() + "\"";
+    }
+
+    // Stored flights contribute their id and version, supplier flights their whole content
+    public String toETag(List<Flight> flights) {
+        MessageDigest digest = sha256();
+        for (Flight flight : flights) {
+            String identity = flight.getVersion() != null ? flight.getId() + ":" + flight.getVersion() : flight.toString();
+            digest.update(identity.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        byte[] hash = Arrays.copyOf(digest.digest(), 16);
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+    }
+
+    // No header or "*" leaves the write unconditional. Weak or malformed tags never match, as If-Match compares strongly.
+    public Long toExpectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return UNMATCHABLE_VERSION;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return UNMATCHABLE_VERSION;
+        }
+    }
+
+    // Opaque to clients: base64url of "<departure instant>|<id>"
+    public String toCursorToken(FlightCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String raw = cursor.departureTime().toInstant() + CURSOR_SEPARATOR + cursor.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public FlightCursor toCursor(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(CURSOR_SEPARATOR);
+            ZonedDateTime departureTime = ZonedDateTime.ofInstant(Instant.parse(raw.substring(0, separator)), UTC_ZONE);
+            return new FlightCursor(departureTime, UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid cursor", Map.of("cursor", "Cursor must be a value returned as nextCursor"));
+        }
+    }
+
     public Flight toDomain(CreateFlightRequest request) {
         if (request == null) {
             return null;
@@ -58,6 +166,23 @@ public class FlightDtoMapper {
                 .build();
     }
 
+    public Flight toDomain(BulkUpdateFlightItem item) {
+        if (item == null) {
+            return null;
+        }
+
+        return Flight.builder()
+                .id(item.getId())
+                .airline(item.getAirline())
+                .supplier(item.getSupplier())
+                .fare(item.getFare())
+                .departureAirport(item.getDepartureAirport())
+                .destinationAirport(item.getDestinationAirport())
+                .departureTime(item.getDepartureTime())
+                .arrivalTime(item.getArrivalTime())
+                .build();
+    }
+
     public Flight toDomain(UUID id, UpdateFlightRequest request, Flight existingFlight) {
         if (request == null || existingFlight == null) {
             return existingFlight;
@@ -75,6 +200,22 @@ public class FlightDtoMapper {
                 .build();
     }
 
+    public FlightPatch toPatch(UpdateFlightRequest request) {
+        if (request == null) {
+            return new FlightPatch();
+        }
+
+        return FlightPatch.builder()
+                .airline(request.getAirline())
+                .supplier(request.getSupplier())
+                .fare(request.getFare())
+                .departureAirport(request.getDepartureAirport())
+                .destinationAirport(request.getDestinationAirport())
+                .departureTime(request.getDepartureTime())
+                .arrivalTime(request.getArrivalTime())
+                .build();
+    }
+
     public FlightSearchCriteria toDomain(FlightSearchRequest request) {
         if (request == null) {
             return null;
@@ -88,4 +229,12 @@ public class FlightDtoMapper {
                 .arrivalTime(request.getArrivalTime())
                 .build();
     }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package com.wordline.flight_data_management.infrastructure.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+// RFC 9562 version 7: 48 bits of Unix milliseconds, then a 12-bit counter, then 62 random bits.
+// Ids from one generator sort in creation order, so primary-key inserts append to the index.
+public class UuidV7Generator {
+
+    private static final UuidV7Generator SHARED = new UuidV7Generator(System::currentTimeMillis);
+
+    private static final int COUNTER_BITS = 12;
+    private static final long MAX_COUNTER = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION_7 = 0x7L << 12;
+    private static final long VARIANT_RFC = 0x2L << 62;
+    private static final long RANDOM_MASK = (1L << 62) - 1;
+
+    private final LongSupplier clock;
+    private final SecureRandom random = new SecureRandom();
+
+    private long lastMillis = -1;
+    private long counter;
+
+    public UuidV7Generator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    public static UUID randomV7() {
+        return SHARED.generate();
+    }
+
+    public UUID generate() {
+        long millis;
+        long sequence;
+        synchronized (this) {
+            long now = clock.getAsLong();
+            if (now > lastMillis) {
+                lastMillis = now;
+                // Starting from a random value below half the range leaves room to count up within the millisecond
+                counter = random.nextInt(1 << (COUNTER_BITS - 1));
+            } else if (counter < MAX_COUNTER) {
+                // Same millisecond, or the clock stepped back: keep counting from the last timestamp
+                counter++;
+            } else {
+                lastMillis++;
+                counter = 0;
+            }
+            millis = lastMillis;
+            sequence = counter;
+        }
+
+        long mostSignificantBits = (millis << 16) | VERSION_7 | sequence;
+        long leastSignificantBits = VARIANT_RFC | (random.nextLong() & RANDOM_MASK);
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
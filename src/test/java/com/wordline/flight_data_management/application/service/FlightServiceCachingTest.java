@@ -0,0 +1,113 @@
+package com.wordline.flight_data_management.application.service;
+
+import com.wordline.flight_data_management.application.port.in.FlightService;
+import com.wordline.flight_data_management.application.port.out.FlightRepository;
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.infrastructure.cache.CacheConfig;
+import com.wordline.flight_data_management.infrastructure.cache.SupplierFlightCache;
+import com.wordline.flight_data_management.infrastructure.concurrency.ScatterGatherExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(FlightServiceCachingTest.Config.class)
+class FlightServiceCachingTest {
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private SupplierFlightCache supplierFlightCache;
+
+    @MockBean
+    private FlightRepository flightRepository;
+
+    @MockBean
+    private FlightSupplierRegistry flightSupplierRegistry;
+
+    @MockBean
+    private ScatterGatherExecutor searchExecutor;
+
+    @MockBean
+    private LocalFlightSearch localFlightSearch;
+
+    @Test
+    void getFlightById_WhenStored_ShouldBeCached() {
+        // Given
+        UUID flightId = UUID.randomUUID();
+        Flight flight = Flight.builder().id(flightId).airline("AF").version(0L).build();
+        when(flightRepository.findById(flightId)).thenReturn(Optional.of(flight));
+
+        // When
+        flightService.getFlightById(flightId);
+        Optional<Flight> result = flightService.getFlightById(flightId);
+
+        // Then
+        assertEquals(Optional.of(flight), result);
+        verify(flightRepository, times(1)).findById(flightId);
+    }
+
+    @Test
+    void getFlightById_WhenMissing_ShouldNotCacheTheMiss() {
+        // Given
+        UUID flightId = UUID.randomUUID();
+        Flight flight = Flight.builder().id(flightId).airline("AF").version(0L).build();
+        when(flightRepository.findById(flightId)).thenReturn(Optional.empty(), Optional.of(flight));
+
+        // When
+        Optional<Flight> miss = flightService.getFlightById(flightId);
+        Optional<Flight> result = flightService.getFlightById(flightId);
+
+        // Then
+        assertTrue(miss.isEmpty());
+        assertEquals(Optional.of(flight), result);
+    }
+
+    @Test
+    void getFlightById_WhenFromSupplier_ShouldNotCacheTheUnversionedFlight() {
+        // Given
+        UUID flightId = UUID.randomUUID();
+        Flight supplierFlight = Flight.builder().id(flightId).airline("AF").supplier("CrazySupplier").build();
+        when(flightRepository.findById(flightId)).thenReturn(Optional.empty());
+        supplierFlightCache.put(supplierFlight);
+
+        // When
+        flightService.getFlightById(flightId);
+        flightService.getFlightById(flightId);
+
+        // Then
+        verify(flightRepository, times(2)).findById(flightId);
+    }
+
+    @Configuration
+    @EnableCaching
+    @Import({CacheConfig.class, FlightServiceImpl.class})
+    static class Config {
+
+        // Binds the DataSize and Duration settings the way the application context does
+        @Bean
+        static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
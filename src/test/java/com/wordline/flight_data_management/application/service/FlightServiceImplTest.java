@@ -1,22 +1,35 @@
 package com.wordline.flight_data_management.application.service;
 
-import com.wordline.flight_data_management.application.port.out.CrazySupplierClient;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.wordline.flight_data_management.application.port.out.FlightRepository;
+import com.wordline.flight_data_management.application.port.out.FlightSupplier;
 import com.wordline.flight_data_management.domain.exception.ExternalServiceException;
 import com.wordline.flight_data_management.domain.exception.FlightNotFoundException;
-import com.wordline.flight_data_management.domain.model.CrazySupplierFlight;
+import com.wordline.flight_data_management.domain.exception.FlightVersionConflictException;
+import com.wordline.flight_data_management.domain.model.BulkItemResult;
 import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightCursor;
+import com.wordline.flight_data_management.domain.model.FlightPage;
+import com.wordline.flight_data_management.domain.model.FlightPatch;
 import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.infrastructure.cache.FlightSearchCache;
+import com.wordline.flight_data_management.infrastructure.cache.SearchCacheIndex;
+import com.wordline.flight_data_management.infrastructure.cache.SupplierFlightCache;
+import com.wordline.flight_data_management.infrastructure.concurrency.RequestCoalescer;
+import com.wordline.flight_data_management.infrastructure.concurrency.ScatterGatherExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -25,6 +38,8 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,18 +49,37 @@ class FlightServiceImplTest {
     private FlightRepository flightRepository;
 
     @Mock
-    private CrazySupplierClient crazySupplierClient;
+    private FlightSupplier crazySupplier;
+
+    private ScatterGatherExecutor searchExecutor;
+
+    private SimpleMeterRegistry meterRegistry;
 
-    @InjectMocks
     private FlightServiceImpl flightService;
 
     private UUID flightId;
     private Flight flight;
-    private CrazySupplierFlight crazySupplierFlight;
+    private Flight crazySupplierFlight;
     private FlightSearchCriteria searchCriteria;
 
     @BeforeEach
     void setUp() {
+        searchExecutor = ScatterGatherExecutor.virtualThreadPerTask("test-search-");
+        lenient().when(crazySupplier.getName()).thenReturn("CrazySupplier");
+        lenient().when(crazySupplier.getMaxConcurrency()).thenReturn(10);
+        lenient().when(crazySupplier.getDeadline()).thenReturn(Duration.ofSeconds(1));
+        lenient().when(crazySupplier.fallback(any(), any())).thenReturn(List.of());
+        meterRegistry = new SimpleMeterRegistry();
+        SupplierFlightCache supplierFlightCache = new SupplierFlightCache(Caffeine.newBuilder().build());
+        FlightSupplierRegistry flightSupplierRegistry =
+                new FlightSupplierRegistry(List.of(crazySupplier), searchExecutor, supplierFlightCache, meterRegistry);
+        FlightSearchCache flightSearchCache =
+                new FlightSearchCache(Caffeine.newBuilder().build(), new SearchCacheIndex(), meterRegistry);
+        LocalFlightSearch localFlightSearch = new LocalFlightSearch(flightRepository,
+                new RequestCoalescer<>("test-search", List::copyOf, meterRegistry), flightSearchCache);
+        flightService = new FlightServiceImpl(flightRepository, flightSupplierRegistry, localFlightSearch,
+                flightSearchCache, supplierFlightCache);
+
         flightId = UUID.randomUUID();
 
         flight = Flight.builder()
@@ -59,27 +93,33 @@ class FlightServiceImplTest {
                 .arrivalTime(ZonedDateTime.now(ZoneId.of("UTC")).plusHours(6))
                 .build();
 
-        crazySupplierFlight = CrazySupplierFlight.builder()
-                .carrier("CrazyAirline")
-                .basePrice(new BigDecimal("80.00"))
-                .tax(new BigDecimal("20.00"))
-                .departureAirportName("AMS")
-                .arrivalAirportName("IST")
-                .outboundDateTime(LocalDateTime.now())
-                .inboundDateTime(LocalDateTime.now().plusHours(6))
+        crazySupplierFlight = Flight.builder()
+                .id(UUID.randomUUID())
+                .airline("CrazyAirline")
+                .supplier("CrazySupplier")
+                .fare(new BigDecimal("100.00"))
+                .departureAirport("AMS")
+                .destinationAirport("IST")
+                .departureTime(ZonedDateTime.now(ZoneId.of("UTC")))
+                .arrivalTime(ZonedDateTime.now(ZoneId.of("UTC")).plusHours(6))
                 .build();
 
         searchCriteria = FlightSearchCriteria.builder()
                 .departureAirport("AMS")
                 .destinationAirport("IST")
-                .departureTime(ZonedDateTime.now(ZoneId.of("UTC")))
+                .departureTime(LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC))
                 .build();
     }
 
+    @AfterEach
+    void tearDown() {
+        searchExecutor.close();
+    }
+
     @Test
     void createFlight_ShouldReturnCreatedFlight() {
         // Given
-        when(flightRepository.save(any(Flight.class))).thenReturn(flight);
+        when(flightRepository.insert(any(Flight.class))).thenReturn(flight);
 
         // When
         Flight result = flightService.createFlight(flight);
@@ -88,35 +128,20 @@ class FlightServiceImplTest {
         assertNotNull(result);
         assertEquals(flight.getId(), result.getId());
         assertEquals(flight.getAirline(), result.getAirline());
-        verify(flightRepository, times(1)).save(any(Flight.class));
+        verify(flightRepository, times(1)).insert(any(Flight.class));
     }
 
     @Test
-    void updateFlight_WhenFlightExists_ShouldReturnUpdatedFlight() {
+    void createFlight_WithoutId_ShouldAssignTimeOrderedId() {
         // Given
-        when(flightRepository.existsById(flightId)).thenReturn(true);
-        when(flightRepository.save(any(Flight.class))).thenReturn(flight);
+        Flight newFlight = Flight.builder().airline("TestAirline").build();
+        when(flightRepository.insert(any(Flight.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
-        Flight result = flightService.updateFlight(flightId, flight);
+        Flight result = flightService.createFlight(newFlight);
 
         // Then
-        assertNotNull(result);
-        assertEquals(flight.getId(), result.getId());
-        assertEquals(flight.getAirline(), result.getAirline());
-        verify(flightRepository, times(1)).existsById(flightId);
-        verify(flightRepository, times(1)).save(any(Flight.class));
-    }
-
-    @Test
-    void updateFlight_WhenFlightDoesNotExist_ShouldThrowException() {
-        // Given
-        when(flightRepository.existsById(flightId)).thenReturn(false);
-
-        // When/Then
-        assertThrows(FlightNotFoundException.class, () -> flightService.updateFlight(flightId, flight));
-        verify(flightRepository, times(1)).existsById(flightId);
-        verify(flightRepository, never()).save(any(Flight.class));
+        assertEquals(7, result.getId().version());
     }
 
     @Test
@@ -147,6 +172,22 @@ class FlightServiceImplTest {
         verify(flightRepository, times(1)).findById(flightId);
     }
 
+    @Test
+    void getFlightById_ForSupplierFlightFromRecentSearch_ShouldReturnItWithoutSearchingAgain() {
+        // Given
+        when(flightRepository.findByCriteria(searchCriteria)).thenReturn(List.of());
+        when(crazySupplier.searchFlights(searchCriteria)).thenReturn(List.of(crazySupplierFlight));
+        when(flightRepository.findById(crazySupplierFlight.getId())).thenReturn(Optional.empty());
+        flightService.searchFlights(searchCriteria);
+
+        // When
+        Optional<Flight> result = flightService.getFlightById(crazySupplierFlight.getId());
+
+        // Then
+        assertEquals(Optional.of(crazySupplierFlight), result);
+        verify(crazySupplier, times(1)).searchFlights(searchCriteria);
+    }
+
     @Test
     void getAllFlights_ShouldReturnAllFlights() {
         // Given
@@ -162,39 +203,74 @@ class FlightServiceImplTest {
         verify(flightRepository, times(1)).findAll();
     }
 
+    @Test
+    void getFlightPage_WhenMoreFlightsFollow_ShouldReturnCursorAfterLastFlight() {
+        // Given
+        FlightCursor after = new FlightCursor(flight.getDepartureTime().minusDays(1), UUID.randomUUID());
+        when(flightRepository.findPage(after, 2)).thenReturn(List.of(flight, crazySupplierFlight));
+
+        // When
+        FlightPage result = flightService.getFlightPage(after, 1);
+
+        // Then
+        assertEquals(List.of(flight), result.flights());
+        assertEquals(FlightCursor.after(flight), result.nextCursor());
+    }
+
+    @Test
+    void getFlightPage_OnLastPage_ShouldReturnNoCursor() {
+        // Given
+        when(flightRepository.findPage(null, 3)).thenReturn(List.of(flight));
+
+        // When
+        FlightPage result = flightService.getFlightPage(null, 2);
+
+        // Then
+        assertEquals(List.of(flight), result.flights());
+        assertNull(result.nextCursor());
+    }
+
     @Test
     void deleteFlight_WhenFlightExists_ShouldDeleteFlight() {
         // Given
-        when(flightRepository.existsById(flightId)).thenReturn(true);
-        doNothing().when(flightRepository).deleteById(flightId);
+        when(flightRepository.remove(flightId, null)).thenReturn(true);
 
         // When
-        flightService.deleteFlight(flightId);
+        flightService.deleteFlight(flightId, null);
 
         // Then
-        verify(flightRepository, times(1)).existsById(flightId);
-        verify(flightRepository, times(1)).deleteById(flightId);
+        verify(flightRepository, never()).findById(any(UUID.class));
+        verify(flightRepository, times(1)).remove(flightId, null);
     }
 
     @Test
     void deleteFlight_WhenFlightDoesNotExist_ShouldThrowException() {
         // Given
-        when(flightRepository.existsById(flightId)).thenReturn(false);
+        when(flightRepository.remove(flightId, null)).thenReturn(false);
+
+        // When/Then
+        assertThrows(FlightNotFoundException.class, () -> flightService.deleteFlight(flightId, null));
+        verify(flightRepository, times(1)).remove(flightId, null);
+    }
+
+    @Test
+    void deleteFlight_WithStaleVersion_ShouldThrowVersionConflict() {
+        // Given
+        when(flightRepository.remove(flightId, 2L)).thenReturn(false);
+        when(flightRepository.existsById(flightId)).thenReturn(true);
 
         // When/Then
-        assertThrows(FlightNotFoundException.class, () -> flightService.deleteFlight(flightId));
-        verify(flightRepository, times(1)).existsById(flightId);
-        verify(flightRepository, never()).deleteById(any(UUID.class));
+        assertThrows(FlightVersionConflictException.class, () -> flightService.deleteFlight(flightId, 2L));
     }
 
     @Test
     void searchFlights_ShouldReturnCombinedFlights() {
         // Given
         List<Flight> repositoryFlights = List.of(flight);
-        List<CrazySupplierFlight> crazySupplierFlights = List.of(crazySupplierFlight);
+        List<Flight> crazySupplierFlights = List.of(crazySupplierFlight);
 
         when(flightRepository.findByCriteria(searchCriteria)).thenReturn(repositoryFlights);
-        when(crazySupplierClient.searchFlights(searchCriteria)).thenReturn(crazySupplierFlights);
+        when(crazySupplier.searchFlights(searchCriteria)).thenReturn(crazySupplierFlights);
 
         // When
         List<Flight> result = flightService.searchFlights(searchCriteria);
@@ -205,7 +281,7 @@ class FlightServiceImplTest {
         assertEquals(flight.getId(), result.getFirst().getId());
         assertEquals("CrazyAirline", result.get(1).getAirline());
         verify(flightRepository, times(1)).findByCriteria(searchCriteria);
-        verify(crazySupplierClient, times(1)).searchFlights(searchCriteria);
+        verify(crazySupplier, times(1)).searchFlights(searchCriteria);
     }
 
     @Test
@@ -214,7 +290,7 @@ class FlightServiceImplTest {
         List<Flight> repositoryFlights = List.of(flight);
 
         when(flightRepository.findByCriteria(searchCriteria)).thenReturn(repositoryFlights);
-        when(crazySupplierClient.searchFlights(searchCriteria)).thenThrow(new ExternalServiceException("Error", "CrazySupplier", 500));
+        when(crazySupplier.searchFlights(searchCriteria)).thenThrow(new ExternalServiceException("Error", "CrazySupplier", 500));
 
         // When
         List<Flight> result = flightService.searchFlights(searchCriteria);
@@ -224,7 +300,7 @@ class FlightServiceImplTest {
         assertEquals(1, result.size());
         assertEquals(flight.getId(), result.getFirst().getId());
         verify(flightRepository, times(1)).findByCriteria(searchCriteria);
-        verify(crazySupplierClient, times(1)).searchFlights(searchCriteria);
+        verify(crazySupplier, times(1)).searchFlights(searchCriteria);
     }
 
     @Test
@@ -233,7 +309,7 @@ class FlightServiceImplTest {
         List<Flight> repositoryFlights = List.of(flight);
 
         when(flightRepository.findByCriteria(searchCriteria)).thenReturn(repositoryFlights);
-        when(crazySupplierClient.searchFlights(searchCriteria)).thenReturn(null);
+        when(crazySupplier.searchFlights(searchCriteria)).thenReturn(null);
 
         // When
         List<Flight> result = flightService.searchFlights(searchCriteria);
@@ -243,7 +319,7 @@ class FlightServiceImplTest {
         assertEquals(1, result.size());
         assertEquals(flight.getId(), result.getFirst().getId());
         verify(flightRepository, times(1)).findByCriteria(searchCriteria);
-        verify(crazySupplierClient, times(1)).searchFlights(searchCriteria);
+        verify(crazySupplier, times(1)).searchFlights(searchCriteria);
     }
 
     @Test
@@ -252,7 +328,7 @@ class FlightServiceImplTest {
         List<Flight> repositoryFlights = List.of(flight);
 
         when(flightRepository.findByCriteria(searchCriteria)).thenReturn(repositoryFlights);
-        when(crazySupplierClient.searchFlights(searchCriteria)).thenReturn(Collections.emptyList());
+        when(crazySupplier.searchFlights(searchCriteria)).thenReturn(Collections.emptyList());
 
         // When
         List<Flight> result = flightService.searchFlights(searchCriteria);
@@ -262,6 +338,214 @@ class FlightServiceImplTest {
         assertEquals(1, result.size());
         assertEquals(flight.getId(), result.getFirst().getId());
         verify(flightRepository, times(1)).findByCriteria(searchCriteria);
-        verify(crazySupplierClient, times(1)).searchFlights(searchCriteria);
+        verify(crazySupplier, times(1)).searchFlights(searchCriteria);
+    }
+
+    @Test
+    void searchFlights_WhenSupplierMissesDeadline_ShouldReturnRepositoryFlightsOnly() {
+        // Given
+        List<Flight> repositoryFlights = List.of(flight);
+
+        when(crazySupplier.getDeadline()).thenReturn(Duration.ofMillis(50));
+        when(flightRepository.findByCriteria(searchCriteria)).thenReturn(repositoryFlights);
+        when(crazySupplier.searchFlights(searchCriteria)).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return List.of(crazySupplierFlight);
+        });
+
+        // When
+        List<Flight> result = flightService.searchFlights(searchCriteria);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals(flight.getId(), result.getFirst().getId());
+        verify(crazySupplier, times(1)).fallback(eq(searchCriteria), any());
+    }
+
+    @Test
+    void searchFlights_WhenRepeated_ShouldServeCachedLocalFlightsAndAskSuppliersAgain() {
+        // Given
+        Flight repricedFlight = Flight.builder()
+                .id(crazySupplierFlight.getId())
+                .airline("CrazyAirline")
+                .supplier("CrazySupplier")
+                .fare(new BigDecimal("80.00"))
+                .build();
+        when(flightRepository.findByCriteria(searchCriteria)).thenReturn(List.of(flight));
+        when(crazySupplier.searchFlights(searchCriteria))
+                .thenReturn(List.of(crazySupplierFlight), List.of(repricedFlight));
+
+        // When
+        flightService.searchFlights(searchCriteria);
+        List<Flight> result = flightService.searchFlights(searchCriteria);
+
+        // Then
+        assertEquals(List.of(flight, repricedFlight), result);
+        verify(flightRepository, times(1)).findByCriteria(searchCriteria);
+        verify(crazySupplier, times(2)).searchFlights(searchCriteria);
+    }
+
+    @Test
+    void searchFlights_ForSameDayAndRouteInAnotherForm_ShouldShareOneCanonicalSearch() {
+        // Given
+        FlightSearchCriteria sameQuestion = FlightSearchCriteria.builder()
+                .departureAirport("ams")
+                .destinationAirport(" IST ")
+                .airline("")
+                .departureTime(searchCriteria.getDepartureTime().plusHours(15).withZoneSameLocal(ZoneId.of("Europe/Istanbul")))
+                .build();
+        when(flightRepository.findByCriteria(searchCriteria)).thenReturn(List.of(flight));
+        when(crazySupplier.searchFlights(searchCriteria)).thenReturn(List.of(crazySupplierFlight));
+
+        // When
+        List<Flight> first = flightService.searchFlights(sameQuestion);
+        List<Flight> second = flightService.searchFlights(searchCriteria);
+
+        // Then
+        assertEquals(first, second);
+        verify(flightRepository, times(1)).findByCriteria(searchCriteria);
+        verify(crazySupplier, times(2)).searchFlights(searchCriteria);
+        assertEquals(1.0, meterRegistry.get("flight.cache.search.requests")
+                .tags("result", "miss", "normalized", "true").counter().count());
+        assertEquals(1.0, meterRegistry.get("flight.cache.search.requests")
+                .tags("result", "hit", "normalized", "false").counter().count());
+    }
+
+    @Test
+    void createFlight_OnCachedRoute_ShouldEvictAffectedSearch() {
+        // Given
+        FlightSearchCriteria otherRoute = FlightSearchCriteria.builder()
+                .departureAirport("CDG")
+                .destinationAirport("JFK")
+                .departureTime(searchCriteria.getDepartureTime())
+                .build();
+        when(flightRepository.findByCriteria(any(FlightSearchCriteria.class))).thenReturn(List.of());
+        when(crazySupplier.searchFlights(any(FlightSearchCriteria.class))).thenReturn(List.of());
+        when(flightRepository.insert(any(Flight.class))).thenReturn(flight);
+        flightService.searchFlights(searchCriteria);
+        flightService.searchFlights(otherRoute);
+
+        // When
+        flightService.createFlight(flight);
+        flightService.searchFlights(searchCriteria);
+        flightService.searchFlights(otherRoute);
+
+        // Then
+        verify(flightRepository, times(2)).findByCriteria(searchCriteria);
+        verify(flightRepository, times(1)).findByCriteria(otherRoute);
+    }
+
+    @Test
+    void createFlights_ShouldAssignIdsAndEvictSearchesOfCreatedFlightsOnly() {
+        // Given
+        Flight newFlight = Flight.builder()
+                .departureAirport("AMS")
+                .destinationAirport("IST")
+                .departureTime(flight.getDepartureTime())
+                .build();
+        Flight rejectedFlight = Flight.builder()
+                .departureAirport("CDG")
+                .destinationAirport("JFK")
+                .departureTime(flight.getDepartureTime())
+                .build();
+        FlightSearchCriteria rejectedRoute = FlightSearchCriteria.builder()
+                .departureAirport("CDG")
+                .destinationAirport("JFK")
+                .departureTime(searchCriteria.getDepartureTime())
+                .build();
+        when(flightRepository.findByCriteria(any(FlightSearchCriteria.class))).thenReturn(List.of());
+        when(crazySupplier.searchFlights(any(FlightSearchCriteria.class))).thenReturn(List.of());
+        when(flightRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Flight> flights = invocation.getArgument(0);
+            return List.of(
+                    BulkItemResult.succeeded(0, flights.get(0).getId(), BulkItemResult.Outcome.CREATED),
+                    BulkItemResult.failed(1, flights.get(1).getId(), BulkItemResult.Outcome.FAILED, "rejected"));
+        });
+        flightService.searchFlights(searchCriteria);
+        flightService.searchFlights(rejectedRoute);
+
+        // When
+        List<BulkItemResult> results = flightService.createFlights(List.of(newFlight, rejectedFlight));
+        flightService.searchFlights(searchCriteria);
+        flightService.searchFlights(rejectedRoute);
+
+        // Then
+        assertEquals(2, results.size());
+        assertNotNull(newFlight.getId());
+        assertNotNull(rejectedFlight.getId());
+        verify(flightRepository, times(2)).findByCriteria(searchCriteria);
+        verify(flightRepository, times(1)).findByCriteria(rejectedRoute);
+    }
+
+    @Test
+    void deleteFlights_ShouldEvictSearchesContainingDeletedFlights() {
+        // Given
+        when(flightRepository.findByCriteria(searchCriteria)).thenReturn(List.of(flight));
+        when(crazySupplier.searchFlights(searchCriteria)).thenReturn(List.of());
+        when(flightRepository.deleteAllById(List.of(flightId)))
+                .thenReturn(List.of(BulkItemResult.succeeded(0, flightId, BulkItemResult.Outcome.DELETED)));
+        flightService.searchFlights(searchCriteria);
+
+        // When
+        flightService.deleteFlights(List.of(flightId));
+        flightService.searchFlights(searchCriteria);
+
+        // Then
+        verify(flightRepository, times(2)).findByCriteria(searchCriteria);
+    }
+
+    @Test
+    void patchFlight_WhenRouteChanges_ShouldEvictOldAndNewRouteSearches() {
+        // Given
+        Flight movedFlight = Flight.builder()
+                .id(flightId)
+                .departureAirport("CDG")
+                .destinationAirport("JFK")
+                .departureTime(flight.getDepartureTime())
+                .build();
+        FlightSearchCriteria newRoute = FlightSearchCriteria.builder()
+                .departureAirport("CDG")
+                .destinationAirport("JFK")
+                .departureTime(searchCriteria.getDepartureTime())
+                .build();
+        FlightPatch patch = FlightPatch.builder().departureAirport("CDG").destinationAirport("JFK").build();
+        when(flightRepository.findByCriteria(searchCriteria)).thenReturn(List.of(flight));
+        when(flightRepository.findByCriteria(newRoute)).thenReturn(List.of());
+        when(crazySupplier.searchFlights(any(FlightSearchCriteria.class))).thenReturn(List.of());
+        when(flightRepository.patch(flightId, patch, null)).thenReturn(Optional.of(movedFlight));
+        flightService.searchFlights(searchCriteria);
+        flightService.searchFlights(newRoute);
+
+        // When
+        Flight result = flightService.patchFlight(flightId, patch, null);
+        flightService.searchFlights(searchCriteria);
+        flightService.searchFlights(newRoute);
+
+        // Then
+        assertEquals(movedFlight, result);
+        verify(flightRepository, times(2)).findByCriteria(searchCriteria);
+        verify(flightRepository, times(2)).findByCriteria(newRoute);
+    }
+
+    @Test
+    void patchFlight_WhenFlightDoesNotExist_ShouldThrowException() {
+        // Given
+        FlightPatch patch = FlightPatch.builder().fare(BigDecimal.TEN).build();
+        when(flightRepository.patch(flightId, patch, null)).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThrows(FlightNotFoundException.class, () -> flightService.patchFlight(flightId, patch, null));
+    }
+
+    @Test
+    void patchFlight_WithVersionOfMissingFlight_ShouldThrowNotFound() {
+        // Given
+        FlightPatch patch = FlightPatch.builder().fare(BigDecimal.TEN).build();
+        when(flightRepository.patch(flightId, patch, 2L)).thenReturn(Optional.empty());
+        when(flightRepository.existsById(flightId)).thenReturn(false);
+
+        // When/Then
+        assertThrows(FlightNotFoundException.class, () -> flightService.patchFlight(flightId, patch, 2L));
     }
 }
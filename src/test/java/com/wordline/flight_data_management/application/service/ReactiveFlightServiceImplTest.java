@@ -0,0 +1,176 @@
+package com.wordline.flight_data_management.application.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wordline.flight_data_management.application.port.out.FlightRepository;
+import com.wordline.flight_data_management.application.port.out.FlightSupplier;
+import com.wordline.flight_data_management.domain.exception.ExternalServiceException;
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.infrastructure.cache.FlightSearchCache;
+import com.wordline.flight_data_management.infrastructure.cache.SearchCacheIndex;
+import com.wordline.flight_data_management.infrastructure.cache.SupplierFlightCache;
+import com.wordline.flight_data_management.infrastructure.concurrency.RequestCoalescer;
+import com.wordline.flight_data_management.infrastructure.concurrency.ScatterGatherExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveFlightServiceImplTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private FlightSupplier crazySupplier;
+
+    private ScatterGatherExecutor searchExecutor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReactiveFlightServiceImpl reactiveFlightService;
+
+    private Flight flight;
+    private Flight crazySupplierFlight;
+    private FlightSearchCriteria searchCriteria;
+
+    @BeforeEach
+    void setUp() {
+        searchExecutor = ScatterGatherExecutor.virtualThreadPerTask("test-search-");
+        lenient().when(crazySupplier.getName()).thenReturn("CrazySupplier");
+        lenient().when(crazySupplier.getMaxConcurrency()).thenReturn(10);
+        lenient().when(crazySupplier.getDeadline()).thenReturn(Duration.ofSeconds(1));
+        lenient().when(crazySupplier.fallback(any(), any())).thenReturn(List.of());
+        meterRegistry = new SimpleMeterRegistry();
+        FlightSupplierRegistry flightSupplierRegistry = new FlightSupplierRegistry(List.of(crazySupplier), searchExecutor,
+                new SupplierFlightCache(Caffeine.newBuilder().build()), meterRegistry);
+        LocalFlightSearch localFlightSearch = new LocalFlightSearch(flightRepository,
+                new RequestCoalescer<>("test-search", List::copyOf, meterRegistry),
+                new FlightSearchCache(Caffeine.newBuilder().build(), new SearchCacheIndex(), meterRegistry));
+        reactiveFlightService = new ReactiveFlightServiceImpl(localFlightSearch, flightSupplierRegistry);
+
+        flight = Flight.builder()
+                .id(UUID.randomUUID())
+                .airline("TestAirline")
+                .supplier("TestSupplier")
+                .fare(new BigDecimal("100.00"))
+                .departureAirport("AMS")
+                .destinationAirport("IST")
+                .departureTime(ZonedDateTime.now(ZoneId.of("UTC")))
+                .arrivalTime(ZonedDateTime.now(ZoneId.of("UTC")).plusHours(6))
+                .build();
+
+        crazySupplierFlight = Flight.builder()
+                .id(UUID.randomUUID())
+                .airline("CrazyAirline")
+                .supplier("CrazySupplier")
+                .fare(new BigDecimal("100.00"))
+                .departureAirport("AMS")
+                .destinationAirport("IST")
+                .departureTime(ZonedDateTime.now(ZoneId.of("UTC")))
+                .arrivalTime(ZonedDateTime.now(ZoneId.of("UTC")).plusHours(6))
+                .build();
+
+        searchCriteria = FlightSearchCriteria.builder()
+                .departureAirport("AMS")
+                .destinationAirport("IST")
+                .departureTime(LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchExecutor.close();
+    }
+
+    @Test
+    void searchFlights_ShouldMergeRepositoryAndCrazySupplierFlights() {
+        // Given
+        when(flightRepository.findByCriteria(searchCriteria)).thenReturn(List.of(flight));
+        when(crazySupplier.streamFlights(searchCriteria)).thenReturn(Flux.just(crazySupplierFlight));
+
+        // When
+        List<Flight> result = reactiveFlightService.searchFlights(searchCriteria).collectList().block();
+
+        // Then
+        assertNotNull(result);
+        assertEquals(2, result.size());
+        assertTrue(result.stream().anyMatch(f -> flight.getId().equals(f.getId())));
+        assertTrue(result.stream().anyMatch(f -> "CrazyAirline".equals(f.getAirline())));
+    }
+
+    @Test
+    void searchFlights_ForSameDayAndRouteInAnotherForm_ShouldServeLocalFlightsFromTheSearchCache() {
+        // Given
+        FlightSearchCriteria sameQuestion = FlightSearchCriteria.builder()
+                .departureAirport("ams")
+                .destinationAirport(" IST ")
+                .departureTime(searchCriteria.getDepartureTime().plusHours(15))
+                .build();
+        when(flightRepository.findByCriteria(searchCriteria)).thenReturn(List.of(flight));
+        when(crazySupplier.streamFlights(searchCriteria)).thenReturn(Flux.just(crazySupplierFlight));
+
+        // When
+        reactiveFlightService.searchFlights(sameQuestion).collectList().block();
+        List<Flight> result = reactiveFlightService.searchFlights(searchCriteria).collectList().block();
+
+        // Then
+        assertNotNull(result);
+        assertEquals(2, result.size());
+        verify(flightRepository, times(1)).findByCriteria(searchCriteria);
+        verify(crazySupplier, times(2)).streamFlights(searchCriteria);
+        assertEquals(1.0, meterRegistry.get("flight.cache.search.requests")
+                .tags("result", "hit", "normalized", "false").counter().count());
+    }
+
+    @Test
+    void searchFlights_WhenCrazySupplierFails_ShouldReturnRepositoryFlightsOnly() {
+        // Given
+        when(flightRepository.findByCriteria(searchCriteria)).thenReturn(List.of(flight));
+        when(crazySupplier.streamFlights(searchCriteria))
+                .thenReturn(Flux.error(new ExternalServiceException("Error", "CrazySupplier", 500)));
+
+        // When
+        List<Flight> result = reactiveFlightService.searchFlights(searchCriteria).collectList().block();
+
+        // Then
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals(flight.getId(), result.getFirst().getId());
+    }
+
+    @Test
+    void searchFlights_WhenSupplierMissesDeadline_ShouldKeepFlightsReceivedSoFar() {
+        // Given
+        when(crazySupplier.getDeadline()).thenReturn(Duration.ofMillis(100));
+        when(flightRepository.findByCriteria(searchCriteria)).thenReturn(List.of(flight));
+        when(crazySupplier.streamFlights(searchCriteria))
+                .thenReturn(Flux.concat(Flux.just(crazySupplierFlight), Flux.<Flight>never()));
+
+        // When
+        List<Flight> result = reactiveFlightService.searchFlights(searchCriteria).collectList().block(Duration.ofSeconds(5));
+
+        // Then
+        assertNotNull(result);
+        assertEquals(2, result.size());
+        assertTrue(result.stream().anyMatch(f -> "CrazyAirline".equals(f.getAirline())));
+    }
+}
@@ -0,0 +1,62 @@
+package com.wordline.flight_data_management.benchmark;
+
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+final class FlightDataset {
+
+    static final ZonedDateTime FIRST_DAY = ZonedDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+
+    private static final String[] AIRPORTS = {
+            "AMS", "IST", "CDG", "LHR", "FRA", "MAD", "BCN", "FCO", "MUC", "ZRH",
+            "VIE", "CPH", "OSL", "ARN", "HEL", "DUB", "LIS", "ATH", "WAW", "PRG"};
+    private static final String[] AIRLINES = {"KLM", "THY", "AFR", "BAW", "DLH", "IBE", "SWR", "AUA", "SAS", "TAP"};
+    private static final int DAYS = 365;
+
+    private FlightDataset() {
+    }
+
+    static List<Flight> generate(int count) {
+        Random random = new Random(42);
+        List<Flight> flights = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int from = random.nextInt(AIRPORTS.length);
+            int to = (from + 1 + random.nextInt(AIRPORTS.length - 1)) % AIRPORTS.length;
+            ZonedDateTime departure = FIRST_DAY.plusDays(random.nextInt(DAYS)).plusMinutes(random.nextInt(24 * 60));
+            flights.add(Flight.builder()
+                    .id(UUID.randomUUID())
+                    .airline(AIRLINES[random.nextInt(AIRLINES.length)])
+                    .supplier("Benchmark")
+                    .fare(BigDecimal.valueOf(5_000 + random.nextInt(95_000), 2))
+                    .departureAirport(AIRPORTS[from])
+                    .destinationAirport(AIRPORTS[to])
+                    .departureTime(departure)
+                    .arrivalTime(departure.plusMinutes(60 + random.nextInt(600)))
+                    .build());
+        }
+        return flights;
+    }
+
+    static FlightSearchCriteria routeDay() {
+        return FlightSearchCriteria.builder()
+                .departureAirport("AMS")
+                .destinationAirport("IST")
+                .departureTime(FIRST_DAY.plusDays(100))
+                .build();
+    }
+
+    static FlightSearchCriteria airlineDay() {
+        return FlightSearchCriteria.builder()
+                .airline("KLM")
+                .departureTime(FIRST_DAY.plusDays(100))
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.wordline.flight_data_management.benchmark;
+
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.infrastructure.persistence.entity.FlightEntity;
+import com.wordline.flight_data_management.infrastructure.persistence.index.ColumnarFlightStore;
+import com.wordline.flight_data_management.infrastructure.persistence.index.FlightRouteIndex;
+import com.wordline.flight_data_management.infrastructure.persistence.index.PreloadedFlightReadModel;
+import com.wordline.flight_data_management.infrastructure.persistence.mapper.FlightMapper;
+import com.wordline.flight_data_management.infrastructure.persistence.repository.FlightJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.List;
+
+// Retained heap per flight for each representation, measured with JOL
+public class FlightFootprint {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        FlightMapper flightMapper = new FlightMapper();
+        List<Flight> flights = FlightDataset.generate(count);
+        List<FlightEntity> entities = flights.stream().map(flightMapper::toEntity).toList();
+
+        report("List<Flight>", GraphLayout.parseInstance(flights).totalSize(), count);
+        FlightJpaRepository routeIndexRepository = stubRepository(entities);
+        report("FlightRouteIndex", footprint(
+                new FlightRouteIndex(routeIndexRepository, flightMapper, new SimpleMeterRegistry()),
+                routeIndexRepository, flightMapper), count);
+        FlightJpaRepository columnarRepository = stubRepository(entities);
+        report("ColumnarFlightStore", footprint(
+                new ColumnarFlightStore(columnarRepository, flightMapper, new SimpleMeterRegistry()),
+                columnarRepository, flightMapper), count);
+    }
+
+    private static FlightJpaRepository stubRepository(List<FlightEntity> entities) {
+        FlightJpaRepository flightJpaRepository = Mockito.mock(FlightJpaRepository.class);
+        Mockito.when(flightJpaRepository.findAll()).thenReturn(entities);
+        return flightJpaRepository;
+    }
+
+    // The model's collaborators are measured separately and subtracted, leaving only the indexed data
+    private static long footprint(PreloadedFlightReadModel model, FlightJpaRepository repository, FlightMapper flightMapper) {
+        model.load();
+        Mockito.reset(repository);
+        GraphLayout collaborators = GraphLayout.parseInstance(repository, flightMapper);
+        return GraphLayout.parseInstance(model).subtract(collaborators).totalSize();
+    }
+
+    private static void report(String name, long bytes, int count) {
+        System.out.printf("%-20s %,12d bytes %8.1f bytes/flight%n", name, bytes, (double) bytes / count);
+    }
+}
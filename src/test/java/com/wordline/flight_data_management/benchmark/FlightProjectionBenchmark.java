@@ -0,0 +1,106 @@
+package com.wordline.flight_data_management.benchmark;
+
+import com.wordline.flight_data_management.FlightDataManagementApplication;
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.infrastructure.persistence.mapper.FlightMapper;
+import com.wordline.flight_data_management.infrastructure.persistence.repository.FlightJpaRepository;
+import com.wordline.flight_data_management.infrastructure.persistence.specification.FlightSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity hydration plus mapping against constructor projections; compare gc.alloc.rate.norm (bytes per search)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlightProjectionBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 1_000;
+
+    @Param({"10000", "100000"})
+    private int flightCount;
+
+    private ConfigurableApplicationContext context;
+    private FlightJpaRepository flightJpaRepository;
+    private FlightMapper flightMapper;
+    private FlightSpecification flightSpecification;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(FlightDataManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "flight.search.read-model=NONE",
+                        "spring.datasource.url=jdbc:h2:mem:projection-benchmark-" + flightCount,
+                        "logging.level.root=WARN")
+                .run();
+
+        flightJpaRepository = context.getBean(FlightJpaRepository.class);
+        flightMapper = context.getBean(FlightMapper.class);
+        flightSpecification = context.getBean(FlightSpecification.class);
+        List<Flight> flights = FlightDataset.generate(flightCount);
+        for (int from = 0; from < flights.size(); from += SEED_BATCH_SIZE) {
+            List<Flight> batch = flights.subList(from, Math.min(from + SEED_BATCH_SIZE, flights.size()));
+            flightJpaRepository.saveAll(batch.stream().map(flightMapper::toEntity).toList());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Flight> airlineDayEntities() {
+        return flightMapper.toDomainList(flightJpaRepository.findAll(
+                flightSpecification.byCriteria(FlightDataset.airlineDay()),
+                Sort.by(Sort.Direction.ASC, "departureTime")));
+    }
+
+    @Benchmark
+    public List<Flight> airlineDayProjection() {
+        return flightJpaRepository.findFlights(flightSpecification.byCriteria(FlightDataset.airlineDay()));
+    }
+
+    @Benchmark
+    public List<Flight> allEntities() {
+        return flightMapper.toDomainList(flightJpaRepository.findAll());
+    }
+
+    @Benchmark
+    public List<Flight> allProjection() {
+        return flightJpaRepository.findAllFlights();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FlightProjectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,114 @@
+package com.wordline.flight_data_management.benchmark;
+
+import com.wordline.flight_data_management.FlightDataManagementApplication;
+import com.wordline.flight_data_management.application.port.out.FlightRepository;
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.infrastructure.persistence.index.ColumnarFlightStore;
+import com.wordline.flight_data_management.infrastructure.persistence.index.FlightRouteIndex;
+import com.wordline.flight_data_management.infrastructure.persistence.mapper.FlightMapper;
+import com.wordline.flight_data_management.infrastructure.persistence.repository.FlightJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Compares the JPA search path with the in-memory read models on the same H2 data set
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlightReadModelBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 1_000;
+
+    @Param({"10000", "100000"})
+    private int flightCount;
+
+    private ConfigurableApplicationContext context;
+    private FlightRepository jpaRepository;
+    private FlightRouteIndex routeIndex;
+    private ColumnarFlightStore columnarStore;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(FlightDataManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "flight.search.read-model=NONE",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + flightCount,
+                        "logging.level.root=WARN")
+                .run();
+
+        FlightJpaRepository flightJpaRepository = context.getBean(FlightJpaRepository.class);
+        FlightMapper flightMapper = context.getBean(FlightMapper.class);
+        List<Flight> flights = FlightDataset.generate(flightCount);
+        for (int from = 0; from < flights.size(); from += SEED_BATCH_SIZE) {
+            List<Flight> batch = flights.subList(from, Math.min(from + SEED_BATCH_SIZE, flights.size()));
+            flightJpaRepository.saveAll(batch.stream().map(flightMapper::toEntity).toList());
+        }
+
+        jpaRepository = context.getBean(FlightRepository.class);
+        routeIndex = new FlightRouteIndex(flightJpaRepository, flightMapper, new SimpleMeterRegistry());
+        routeIndex.load();
+        columnarStore = new ColumnarFlightStore(flightJpaRepository, flightMapper, new SimpleMeterRegistry());
+        columnarStore.load();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Flight> routeDayJpa() {
+        return jpaRepository.findByCriteria(FlightDataset.routeDay());
+    }
+
+    @Benchmark
+    public List<Flight> routeDayRouteIndex() {
+        return routeIndex.find(FlightDataset.routeDay());
+    }
+
+    @Benchmark
+    public List<Flight> routeDayColumnar() {
+        return columnarStore.find(FlightDataset.routeDay());
+    }
+
+    @Benchmark
+    public List<Flight> airlineDayJpa() {
+        return jpaRepository.findByCriteria(FlightDataset.airlineDay());
+    }
+
+    @Benchmark
+    public List<Flight> airlineDayColumnar() {
+        return columnarStore.find(FlightDataset.airlineDay());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FlightReadModelBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,113 @@
+package com.wordline.flight_data_management.benchmark;
+
+import com.wordline.flight_data_management.infrastructure.rest.converter.FlightProtobufHttpMessageConverter;
+import com.wordline.flight_data_management.infrastructure.rest.converter.WireFormatConfig;
+import com.wordline.flight_data_management.infrastructure.rest.dto.FlightDto;
+import com.wordline.flight_data_management.infrastructure.rest.mapper.FlightDtoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Encode time per search response for each negotiated format, with the converters the application registers
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final Map<String, MediaType> MEDIA_TYPES = Map.of(
+            "JSON", MediaType.APPLICATION_JSON,
+            "CBOR", MediaType.APPLICATION_CBOR,
+            "SMILE", new MediaType("application", "x-jackson-smile"),
+            "PROTOBUF", FlightProtobufHttpMessageConverter.APPLICATION_PROTOBUF);
+
+    @Param({"JSON", "CBOR", "SMILE", "PROTOBUF"})
+    private String format;
+
+    @Param({"100", "1000"})
+    private int flightCount;
+
+    private HttpMessageConverter<Object> converter;
+    private MediaType mediaType;
+    private List<FlightDto> flights;
+
+    @Setup
+    public void setUp() {
+        mediaType = MEDIA_TYPES.get(format);
+        converter = converterFor(mediaType);
+        flights = flights(flightCount);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return encode(converter, mediaType, flights);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpMessageConverter<Object> converterFor(MediaType mediaType) {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        // The same defaults Spring MVC starts from, which the wire format config has to replace
+        converters.add(new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter());
+        converters.add(new MappingJackson2CborHttpMessageConverter());
+        new WireFormatConfig(Jackson2ObjectMapperBuilder.json()).extendMessageConverters(converters);
+        return (HttpMessageConverter<Object>) converters.stream()
+                .filter(converter -> converter.canWrite(ArrayList.class, mediaType))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static List<FlightDto> flights(int count) {
+        FlightDtoMapper flightDtoMapper = new FlightDtoMapper();
+        return new ArrayList<>(FlightDataset.generate(count).stream().map(flightDtoMapper::toDto).toList());
+    }
+
+    private static byte[] encode(HttpMessageConverter<Object> converter, MediaType mediaType, List<FlightDto> flights)
+            throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(flights, mediaType, message);
+        return message.getBodyAsBytes();
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        List<FlightDto> flights = flights(1_000);
+        for (String format : List.of("JSON", "CBOR", "SMILE", "PROTOBUF")) {
+            MediaType formatMediaType = MEDIA_TYPES.get(format);
+            int size = encode(converterFor(formatMediaType), formatMediaType, flights).length;
+            System.out.printf("%-9s %,10d bytes %8.1f bytes/flight%n", format, size, (double) size / flights.size());
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(WireFormatBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
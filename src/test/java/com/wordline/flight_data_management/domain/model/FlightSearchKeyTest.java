@@ -0,0 +1,72 @@
+package com.wordline.flight_data_management.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightSearchKeyTest {
+
+    private static final ZonedDateTime DEPARTURE = ZonedDateTime.of(2025, 6, 1, 10, 30, 0, 0, ZoneId.of("UTC"));
+
+    @Test
+    void from_ShouldNormalizeAirportsAirlineAndTimes() {
+        // Given
+        FlightSearchCriteria criteria = FlightSearchCriteria.builder()
+                .departureAirport(" ams ")
+                .destinationAirport("ist")
+                .airline("  ")
+                .departureTime(DEPARTURE)
+                .build();
+
+        // When
+        FlightSearchKey key = FlightSearchKey.from(criteria);
+
+        // Then
+        assertEquals(new FlightSearchKey("AMS", "IST", null, LocalDate.of(2025, 6, 1), null), key);
+    }
+
+    @Test
+    void from_CriteriaDifferingOnlyByTimeOfDay_ShouldShareOneKey() {
+        // Given
+        FlightSearchCriteria morning = FlightSearchCriteria.builder().departureAirport("AMS").departureTime(DEPARTURE).build();
+        FlightSearchCriteria evening = FlightSearchCriteria.builder().departureAirport("ams").departureTime(DEPARTURE.plusHours(9)).build();
+
+        // When/Then
+        assertEquals(FlightSearchKey.from(morning), FlightSearchKey.from(evening));
+    }
+
+    @Test
+    void from_NullCriteria_ShouldMatchEverything() {
+        // When/Then
+        assertEquals(new FlightSearchKey(null, null, null, null, null), FlightSearchKey.from(null));
+    }
+
+    @Test
+    void toCriteria_ShouldStartEachRequestedDayAtUtcMidnight() {
+        // Given
+        FlightSearchKey key = new FlightSearchKey("AMS", "IST", "KL", LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 2));
+
+        // When
+        FlightSearchCriteria criteria = key.toCriteria();
+
+        // Then
+        assertEquals(ZonedDateTime.of(2025, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC), criteria.getDepartureTime());
+        assertEquals(ZonedDateTime.of(2025, 6, 2, 0, 0, 0, 0, ZoneOffset.UTC), criteria.getArrivalTime());
+        assertEquals(key, FlightSearchKey.from(criteria));
+    }
+
+    @Test
+    void dayWindow_ShouldCoverTheRequestedCalendarDateAsAUtcDay() {
+        // Given
+        ZonedDateTime lateInIstanbul = ZonedDateTime.of(2025, 6, 1, 23, 30, 0, 0, ZoneId.of("Europe/Istanbul"));
+
+        // When/Then
+        assertEquals(ZonedDateTime.of(2025, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC), FlightSearchKey.dayStart(lateInIstanbul));
+        assertEquals(ZonedDateTime.of(2025, 6, 2, 0, 0, 0, 0, ZoneOffset.UTC), FlightSearchKey.dayEnd(lateInIstanbul));
+    }
+}
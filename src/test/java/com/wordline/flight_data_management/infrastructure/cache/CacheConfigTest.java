@@ -0,0 +1,100 @@
+package com.wordline.flight_data_management.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.wordline.flight_data_management.infrastructure.concurrency.ScatterGatherExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringJUnitConfig(CacheConfigTest.Config.class)
+@TestPropertySource(properties = {
+        "flight.cache.by-id.max-size=1MB",
+        "flight.cache.by-id.ttl=10s",
+        "flight.cache.search.max-size=2MB",
+        "flight.cache.search.ttl=120s",
+        "flight.cache.supplier-search.max-size=3MB",
+        "flight.cache.supplier-search.ttl=30s",
+        "flight.cache.supplier-search.soft-ttl=20s",
+        "flight.cache.supplier-search.grace-period=40s",
+        "flight.cache.supplier-flight.max-size=4MB",
+        "flight.cache.supplier-flight.ttl=50s",
+        "flight.cache.encoded-response.max-size=5MB",
+        "flight.cache.encoded-response.ttl=60s"
+})
+class CacheConfigTest {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private ScatterGatherExecutor searchExecutor;
+
+    @Test
+    void cacheManager_ShouldSizeAndExpireEachCacheFromItsOwnSettings() {
+        // When/Then
+        assertPolicy(CacheNames.FLIGHT_BY_ID, DataSize.ofMegabytes(1), Duration.ofSeconds(10));
+        assertPolicy(CacheNames.SUPPLIER_FLIGHT, DataSize.ofMegabytes(4), Duration.ofSeconds(50));
+        assertPolicy(CacheNames.ENCODED_RESPONSE, DataSize.ofMegabytes(5), Duration.ofSeconds(60));
+    }
+
+    @Test
+    void cacheManager_ShouldKeepSearchesForTheirOwnTtl() {
+        // When/Then
+        assertPolicy(CacheNames.FLIGHT_SEARCH, DataSize.ofMegabytes(2), Duration.ofSeconds(120));
+    }
+
+    @Test
+    void cacheManager_ShouldKeepSupplierSearchesThroughTheGracePeriod() {
+        // When/Then
+        assertPolicy(CacheNames.SUPPLIER_SEARCH, DataSize.ofMegabytes(3), Duration.ofSeconds(70));
+    }
+
+    @Test
+    void cacheManager_ShouldOnlyKnowTheRegisteredCaches() {
+        // When/Then
+        assertNull(cacheManager.getCache("unknown"));
+        assertFalse(((CaffeineCache) cacheManager.getCache(CacheNames.FLIGHT_BY_ID)).isAllowNullValues());
+        assertThrows(IllegalArgumentException.class, () -> cacheManager.getCache(CacheNames.FLIGHT_BY_ID).put(UUID.randomUUID(), null));
+    }
+
+    private void assertPolicy(String cacheName, DataSize maxSize, Duration ttl) {
+        Cache<Object, Object> cache = ((CaffeineCache) cacheManager.getCache(cacheName)).getNativeCache();
+        Policy<Object, Object> policy = cache.policy();
+        assertEquals(maxSize.toBytes(), policy.eviction().orElseThrow().getMaximum(), cacheName);
+        assertEquals(ttl, policy.expireAfterWrite().orElseThrow().getExpiresAfter(), cacheName);
+    }
+
+    @Configuration
+    @Import(CacheConfig.class)
+    static class Config {
+
+        // Binds the DataSize and Duration settings the way the application context does
+        @Bean
+        static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.wordline.flight_data_management.infrastructure.cache;
+
+import com.wordline.flight_data_management.domain.model.Flight;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+
+import java.util.Collections;
+import java.util.List;
+
+import static com.wordline.flight_data_management.infrastructure.cache.CacheEntryWeigher.ENTRY_OVERHEAD_BYTES;
+import static com.wordline.flight_data_management.infrastructure.cache.CacheEntryWeigher.FLIGHT_BYTES;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheEntryWeigherTest {
+
+    private final CacheEntryWeigher weigher = new CacheEntryWeigher();
+
+    private final Flight flight = Flight.builder().airline("KL").build();
+
+    @Test
+    void weigh_SingleFlight_ShouldAddOneFlightToTheEntryOverhead() {
+        // When/Then
+        assertEquals(ENTRY_OVERHEAD_BYTES + FLIGHT_BYTES, weigher.weigh("key", flight));
+    }
+
+    @Test
+    void weigh_FlightList_ShouldScaleWithItsSize() {
+        // When/Then
+        assertEquals(ENTRY_OVERHEAD_BYTES + 3 * FLIGHT_BYTES, weigher.weigh("key", List.of(flight, flight, flight)));
+        assertEquals(ENTRY_OVERHEAD_BYTES, weigher.weigh("key", List.of()));
+    }
+
+    @Test
+    void weigh_TimestampedValue_ShouldWeighTheWrappedValue() {
+        // Given
+        RefreshAheadCache.Timestamped<List<Flight>> timestamped = new RefreshAheadCache.Timestamped<>(List.of(flight, flight), 0L);
+
+        // When/Then
+        assertEquals(ENTRY_OVERHEAD_BYTES + 2 * FLIGHT_BYTES, weigher.weigh("key", timestamped));
+    }
+
+    @Test
+    void weigh_EncodedResponse_ShouldCountOnlyTheBody() {
+        // Given
+        EncodedResponseCache.Entry entry = new EncodedResponseCache.Entry(List.of(flight),
+                new EncodedResponseCache.EncodedResponse("\"1\"", new byte[1_000]));
+
+        // When/Then
+        assertEquals(ENTRY_OVERHEAD_BYTES + 1_000, weigher.weigh("key", entry));
+    }
+
+    @Test
+    void weigh_NullValue_ShouldCountOnlyTheEntryOverhead() {
+        // When/Then
+        assertEquals(ENTRY_OVERHEAD_BYTES, weigher.weigh("key", NullValue.INSTANCE));
+    }
+
+    @Test
+    void weigh_HugeList_ShouldSaturateAtIntegerMaxValue() {
+        // Given
+        List<Flight> huge = Collections.nCopies(Integer.MAX_VALUE / FLIGHT_BYTES + 1, flight);
+
+        // When/Then
+        assertEquals(Integer.MAX_VALUE, weigher.weigh("key", huge));
+    }
+}
@@ -0,0 +1,59 @@
+package com.wordline.flight_data_management.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wordline.flight_data_management.infrastructure.cache.EncodedResponseCache.EncodedResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodedResponseCacheTest {
+
+    private final AtomicInteger encodings = new AtomicInteger();
+
+    private EncodedResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EncodedResponseCache(Caffeine.newBuilder().build(), true, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void get_WithSameSource_ShouldReuseEncodedBody() {
+        // Given
+        List<String> source = List.of("AMS-IST");
+        EncodedResponse first = cache.get("key", source, () -> encode(source));
+
+        // When
+        EncodedResponse second = cache.get("key", source, () -> encode(source));
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, encodings.get());
+    }
+
+    @Test
+    void get_WithReplacedSource_ShouldEncodeAgainEvenIfEqual() {
+        // Given
+        cache.get("key", List.of("AMS-IST"), () -> encode(List.of("AMS-IST")));
+        List<String> reloaded = List.of("AMS-IST");
+
+        // When
+        cache.get("key", reloaded, () -> encode(reloaded));
+        cache.evict("key");
+        cache.get("key", reloaded, () -> encode(reloaded));
+
+        // Then
+        assertEquals(3, encodings.get());
+    }
+
+    private EncodedResponse encode(List<String> source) {
+        encodings.incrementAndGet();
+        return new EncodedResponse("\"" + source.size() + "\"", source.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
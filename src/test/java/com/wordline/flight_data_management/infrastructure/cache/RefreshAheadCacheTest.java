@@ -0,0 +1,111 @@
+package com.wordline.flight_data_management.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshAheadCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<Runnable> scheduledRefreshes = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private RefreshAheadCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RefreshAheadCache<>(
+                "test",
+                Caffeine.newBuilder().build(),
+                Duration.ofSeconds(60),
+                Duration.ofSeconds(300),
+                Duration.ofSeconds(120),
+                scheduledRefreshes::add,
+                clock::get,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void get_WithinSoftTtl_ShouldServeCachedValueWithoutReload() {
+        // Given
+        cache.get("AMS-IST", () -> "v" + loads.incrementAndGet());
+        clock.set(Duration.ofSeconds(30).toNanos());
+
+        // When
+        String result = cache.get("AMS-IST", () -> "v" + loads.incrementAndGet());
+
+        // Then
+        assertEquals("v1", result);
+        assertEquals(1, loads.get());
+        assertTrue(scheduledRefreshes.isEmpty());
+    }
+
+    @Test
+    void get_BetweenSoftAndHardTtl_ShouldServeStaleValueAndRefreshOnce() {
+        // Given
+        cache.get("AMS-IST", () -> "v" + loads.incrementAndGet());
+        clock.set(Duration.ofSeconds(90).toNanos());
+
+        // When
+        String first = cache.get("AMS-IST", () -> "v" + loads.incrementAndGet());
+        String second = cache.get("AMS-IST", () -> "v" + loads.incrementAndGet());
+
+        // Then
+        assertEquals("v1", first);
+        assertEquals("v1", second);
+        assertEquals(1, scheduledRefreshes.size());
+
+        scheduledRefreshes.getFirst().run();
+        assertEquals("v2", cache.get("AMS-IST", () -> "v" + loads.incrementAndGet()));
+    }
+
+    @Test
+    void get_PastHardTtl_ShouldReloadSynchronously() {
+        // Given
+        cache.get("AMS-IST", () -> "v" + loads.incrementAndGet());
+        clock.set(Duration.ofSeconds(301).toNanos());
+
+        // When
+        String result = cache.get("AMS-IST", () -> "v" + loads.incrementAndGet());
+
+        // Then
+        assertEquals("v2", result);
+        assertTrue(scheduledRefreshes.isEmpty());
+    }
+
+    @Test
+    void get_WhenReloadFailsWithinGracePeriod_ShouldServeLastGoodValue() {
+        // Given
+        cache.get("AMS-IST", () -> "v1");
+        clock.set(Duration.ofSeconds(360).toNanos());
+
+        // When
+        String result = cache.get("AMS-IST", () -> {
+            throw new IllegalStateException("supplier down");
+        });
+
+        // Then
+        assertEquals("v1", result);
+    }
+
+    @Test
+    void get_WhenReloadFailsAfterGracePeriod_ShouldPropagateFailure() {
+        // Given
+        cache.get("AMS-IST", () -> "v1");
+        clock.set(Duration.ofSeconds(421).toNanos());
+
+        // When/Then
+        assertThrows(IllegalStateException.class, () -> cache.get("AMS-IST", () -> {
+            throw new IllegalStateException("supplier down");
+        }));
+    }
+}
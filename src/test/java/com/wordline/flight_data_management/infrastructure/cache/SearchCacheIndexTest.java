@@ -0,0 +1,101 @@
+package com.wordline.flight_data_management.infrastructure.cache;
+
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchKey;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchCacheIndexTest {
+
+    private static final ZonedDateTime DEPARTURE = ZonedDateTime.of(2025, 6, 1, 10, 0, 0, 0, ZoneId.of("UTC"));
+
+    private static final LocalDate DEPARTURE_DAY = DEPARTURE.toLocalDate();
+
+    private final SearchCacheIndex index = new SearchCacheIndex();
+
+    private final Flight flight = Flight.builder()
+            .departureAirport("AMS")
+            .destinationAirport("IST")
+            .departureTime(DEPARTURE)
+            .build();
+
+    @Test
+    void invalidate_ShouldReturnExactAndWildcardSearchesOnTheFlightsRouteAndDay() {
+        // Given
+        FlightSearchKey exact = new FlightSearchKey("AMS", "IST", null, DEPARTURE_DAY, null);
+        FlightSearchKey anyDestination = new FlightSearchKey("AMS", null, "KL", null, null);
+        FlightSearchKey otherDay = new FlightSearchKey("AMS", "IST", null, DEPARTURE_DAY.plusDays(1), null);
+        FlightSearchKey otherRoute = new FlightSearchKey("CDG", "IST", null, DEPARTURE_DAY, null);
+        for (FlightSearchKey key : List.of(exact, anyDestination, otherDay, otherRoute)) {
+            index.attach(key, index.register(key), List.of());
+        }
+
+        // When
+        Set<FlightSearchKey> affected = index.invalidate(flight);
+
+        // Then
+        assertEquals(Set.of(exact, anyDestination), affected);
+    }
+
+    @Test
+    void attach_WhenInvalidatedWhileLoading_ShouldRejectResultAndDropKey() {
+        // Given
+        FlightSearchKey key = new FlightSearchKey("AMS", "IST", null, DEPARTURE_DAY, null);
+        SearchCacheIndex.Registration registration = index.register(key);
+
+        // When
+        index.invalidate(flight);
+        boolean attached = index.attach(key, registration, List.of());
+
+        // Then
+        assertFalse(attached);
+        assertEquals(0, index.size());
+        assertTrue(index.invalidate(flight).isEmpty());
+    }
+
+    @Test
+    void remove_ShouldOnlyDropTheRegistrationThatProducedTheValue() {
+        // Given
+        FlightSearchKey key = new FlightSearchKey("AMS", "IST", null, DEPARTURE_DAY, null);
+        List<Flight> oldValue = List.of(flight);
+        List<Flight> newValue = List.of(flight, flight);
+        index.attach(key, index.register(key), oldValue);
+        index.attach(key, index.register(key), newValue);
+
+        // When
+        index.remove(key, oldValue);
+
+        // Then
+        assertEquals(Set.of(key), index.invalidate(flight));
+
+        index.remove(key, newValue);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void invalidateContaining_ShouldReturnSearchesThatReturnedTheFlightAndLoadsInFlight() {
+        // Given
+        Flight indexed = Flight.builder().id(UUID.randomUUID()).build();
+        FlightSearchKey containing = new FlightSearchKey("AMS", "IST", null, DEPARTURE_DAY, null);
+        FlightSearchKey notContaining = new FlightSearchKey("CDG", "JFK", null, DEPARTURE_DAY, null);
+        FlightSearchKey loading = new FlightSearchKey("LHR", "JFK", null, DEPARTURE_DAY, null);
+        index.attach(containing, index.register(containing), List.of(indexed));
+        index.attach(notContaining, index.register(notContaining), List.of(flight));
+        SearchCacheIndex.Registration loadingRegistration = index.register(loading);
+
+        // When
+        Set<FlightSearchKey> affected = index.invalidateContaining(List.of(indexed.getId()));
+
+        // Then
+        assertEquals(Set.of(containing, loading), affected);
+        assertFalse(index.attach(loading, loadingRegistration, List.of()));
+    }
+}
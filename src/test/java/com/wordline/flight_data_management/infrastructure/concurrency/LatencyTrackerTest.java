@@ -0,0 +1,59 @@
+package com.wordline.flight_data_management.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyTrackerTest {
+
+    @Test
+    void getPercentile_ShouldReadTheRankedLatencyOfTheWindow() {
+        // Given
+        LatencyTracker tracker = new LatencyTracker("test", 100, 10, new SimpleMeterRegistry());
+
+        // When
+        for (int millis = 100; millis >= 1; millis--) {
+            tracker.record(Duration.ofMillis(millis));
+        }
+
+        // Then
+        assertEquals(Optional.of(Duration.ofMillis(50)), tracker.getPercentile(0.5));
+        assertEquals(Optional.of(Duration.ofMillis(95)), tracker.getPercentile(0.95));
+        assertEquals(Optional.of(Duration.ofMillis(100)), tracker.getPercentile(1.0));
+    }
+
+    @Test
+    void getPercentile_WithTooFewSamples_ShouldBeEmpty() {
+        // Given
+        LatencyTracker tracker = new LatencyTracker("test", 100, 10, new SimpleMeterRegistry());
+
+        // When
+        for (int i = 0; i < 9; i++) {
+            tracker.record(Duration.ofMillis(5));
+        }
+
+        // Then
+        assertTrue(tracker.getPercentile(0.95).isEmpty());
+    }
+
+    @Test
+    void record_ShouldForgetLatenciesThatLeftTheWindow() {
+        // Given
+        LatencyTracker tracker = new LatencyTracker("test", 16, 1, new SimpleMeterRegistry());
+        for (int i = 0; i < 16; i++) {
+            tracker.record(Duration.ofSeconds(5));
+        }
+
+        // When
+        for (int i = 0; i < 16; i++) {
+            tracker.record(Duration.ofMillis(10));
+        }
+
+        // Then
+        assertEquals(Optional.of(Duration.ofMillis(10)), tracker.getPercentile(0.99));
+    }
+}
@@ -0,0 +1,108 @@
+package com.wordline.flight_data_management.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer<String, String> coalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer<>("test", meterRegistry);
+    }
+
+    @Test
+    void execute_WhenCalledConcurrentlyWithSameKey_ShouldRunComputationOnce() throws Exception {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // When
+            CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.execute("AMS-IST", () -> {
+                executions.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return "result";
+            }), executor);
+            assertTrue(leaderStarted.await(1, TimeUnit.SECONDS));
+
+            CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> coalescer.execute("AMS-IST", () -> {
+                executions.incrementAndGet();
+                return "other";
+            }), executor);
+            while (meterRegistry.counter("flight.coalescer.requests", "name", "test", "outcome", "joined").count() < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            // Then
+            assertEquals("result", leader.get(1, TimeUnit.SECONDS));
+            assertEquals("result", follower.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1.0, meterRegistry.counter("flight.coalescer.requests", "name", "test", "outcome", "led").count());
+        assertEquals(1.0, meterRegistry.counter("flight.coalescer.requests", "name", "test", "outcome", "joined").count());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    void execute_WhenCalledSequentially_ShouldNotShareResults() {
+        // When
+        String first = coalescer.execute("AMS-IST", () -> "first");
+        String second = coalescer.execute("AMS-IST", () -> "second");
+
+        // Then
+        assertEquals("first", first);
+        assertEquals("second", second);
+        assertEquals(2.0, meterRegistry.counter("flight.coalescer.requests", "name", "test", "outcome", "led").count());
+    }
+
+    @Test
+    void execute_WithShare_ShouldHandOutTheSharedValue() {
+        // Given
+        RequestCoalescer<String, List<String>> listCoalescer = new RequestCoalescer<>("lists", List::copyOf, meterRegistry);
+        List<String> computed = new ArrayList<>(List.of("KL1234"));
+
+        // When
+        List<String> result = listCoalescer.execute("AMS-IST", () -> computed);
+
+        // Then
+        assertEquals(computed, result);
+        assertThrows(UnsupportedOperationException.class, () -> result.add("TK1952"));
+    }
+
+    @Test
+    void execute_WhenComputationFails_ShouldPropagateExceptionAndForgetKey() {
+        // When/Then
+        assertThrows(IllegalStateException.class, () -> coalescer.execute("AMS-IST", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(0, coalescer.getInFlightCount());
+        assertEquals("recovered", coalescer.execute("AMS-IST", () -> "recovered"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
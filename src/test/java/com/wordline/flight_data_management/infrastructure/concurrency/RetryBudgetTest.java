@@ -0,0 +1,53 @@
+package com.wordline.flight_data_management.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void tryRetry_WhenSavedRetriesAreSpent_ShouldOnlyAllowTheConfiguredShareOfRequests() {
+        // Given
+        RetryBudget budget = new RetryBudget("test", 0.1, 2, meterRegistry);
+        assertTrue(budget.tryRetry());
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            budget.recordRequest();
+        }
+
+        // Then
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+        assertEquals(3, meterRegistry.get("flight.retry.budget").tag("result", "granted").counter().count());
+        assertEquals(2, meterRegistry.get("flight.retry.budget").tag("result", "denied").counter().count());
+    }
+
+    @Test
+    void recordRequest_ShouldNotSaveMoreThanTheMaximumRetries() {
+        // Given
+        RetryBudget budget = new RetryBudget("test", 0.5, 1, meterRegistry);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            budget.recordRequest();
+        }
+
+        // Then
+        assertEquals(1.0, budget.getAvailableRetries());
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+    }
+}
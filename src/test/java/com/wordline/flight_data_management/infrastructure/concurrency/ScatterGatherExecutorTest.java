@@ -0,0 +1,96 @@
+package com.wordline.flight_data_management.infrastructure.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScatterGatherExecutorTest {
+
+    private ScatterGatherExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    @Test
+    void supplyAsync_ShouldPropagateCallerMdcContext() throws Exception {
+        // Given
+        executor = ScatterGatherExecutor.virtualThreadPerTask("test-");
+        MDC.put("requestId", "abc-123");
+
+        // When
+        String requestId = executor.supplyAsync(() -> MDC.get("requestId")).get(1, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals("abc-123", requestId);
+    }
+
+    @Test
+    void supplyAsync_ShouldRunOnVirtualThread() throws Exception {
+        // Given
+        executor = ScatterGatherExecutor.virtualThreadPerTask("test-");
+
+        // When
+        boolean virtual = executor.supplyAsync(() -> Thread.currentThread().isVirtual()).get(1, TimeUnit.SECONDS);
+
+        // Then
+        assertTrue(virtual);
+    }
+
+    @Test
+    void supplyAsync_ShouldTrackActiveAndQueuedTasks() throws Exception {
+        // Given
+        executor = ScatterGatherExecutor.boundedPlatformPool("test-", 1, 4);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        CompletableFuture<Integer> first = executor.supplyAsync(() -> {
+            started.countDown();
+            await(release);
+            return 1;
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        CompletableFuture<Integer> second = executor.supplyAsync(() -> 2);
+
+        // Then
+        assertEquals(1, executor.getActiveTasks());
+        assertEquals(1, executor.getQueuedTasks());
+
+        release.countDown();
+        assertEquals(1, first.get(1, TimeUnit.SECONDS));
+        assertEquals(2, second.get(1, TimeUnit.SECONDS));
+        assertEquals(0, executor.getActiveTasks());
+        assertEquals(0, executor.getQueuedTasks());
+    }
+
+    @Test
+    void supplyAsync_AfterBoundedPoolShutdown_ShouldRejectInsteadOfDroppingTask() {
+        // Given
+        executor = ScatterGatherExecutor.boundedPlatformPool("test-", 1, 4);
+        executor.close();
+
+        // When/Then
+        assertThrows(RejectedExecutionException.class, () -> executor.supplyAsync(() -> "result"));
+        assertEquals(0, executor.getQueuedTasks());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.wordline.flight_data_management.infrastructure.external.adapter;
+
+import com.wordline.flight_data_management.domain.exception.ExternalServiceException;
+import com.wordline.flight_data_management.domain.exception.SupplierUnavailableException;
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.infrastructure.concurrency.LatencyTracker;
+import com.wordline.flight_data_management.infrastructure.concurrency.RequestCoalescer;
+import com.wordline.flight_data_management.infrastructure.concurrency.RetryBudget;
+import com.wordline.flight_data_management.infrastructure.external.config.CrazySupplierConfig;
+import com.wordline.flight_data_management.infrastructure.external.config.ResponseSizeLimit;
+import com.wordline.flight_data_management.infrastructure.external.mapper.CrazySupplierFlightDeserializer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrazySupplierClientAdapterTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+    private Duration firstCallDelay = Duration.ZERO;
+    private String body = "[]";
+    private Flux<DataBuffer> bodyStream;
+    private WebClient webClient;
+    private LatencyTracker latency;
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead bulkhead;
+    private CrazySupplierClientAdapter adapter;
+    private FlightSearchCriteria criteria;
+
+    @BeforeEach
+    void setUp() {
+        ExchangeStrategies strategies = CrazySupplierConfig.exchangeStrategies();
+        webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    // The stubbed response decodes its body with the same codecs as the real supplier client
+                    Mono<ClientResponse> response = Mono.just(ClientResponse.create(status, strategies)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(bodyStream != null ? bodyStream : Flux.just(buffer(body)))
+                            .build());
+                    return calls.incrementAndGet() == 1 ? response.delaySubscription(firstCallDelay) : response;
+                })
+                .exchangeStrategies(strategies)
+                .filter(new ResponseSizeLimit(DataSize.ofKilobytes(1)))
+                .build();
+        circuitBreaker = CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        bulkhead = Bulkhead.of("test", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        latency = new LatencyTracker("test", 32, 20, new SimpleMeterRegistry());
+        adapter = adapter(0, 0);
+
+        ZonedDateTime departureTime = ZonedDateTime.of(2024, 6, 1, 10, 0, 0, 0, ZoneId.of("UTC"));
+        criteria = FlightSearchCriteria.builder()
+                .departureAirport("AMS")
+                .destinationAirport("IST")
+                .departureTime(departureTime)
+                .arrivalTime(departureTime.plusHours(4))
+                .build();
+    }
+
+    @Test
+    void searchFlights_WhenSupplierKeepsFailing_ShouldOpenCircuitAndFailFast() {
+        // Given
+        assertThrows(ExternalServiceException.class, () -> adapter.searchFlights(criteria));
+        assertThrows(ExternalServiceException.class, () -> adapter.searchFlights(criteria));
+
+        // When
+        assertThrows(SupplierUnavailableException.class, () -> adapter.searchFlights(criteria));
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void searchFlights_WithServerError_ShouldRetryWhileBudgetLasts() {
+        // Given
+        adapter = adapter(1, 0);
+
+        // When
+        assertThrows(ExternalServiceException.class, () -> adapter.searchFlights(criteria));
+
+        // Then
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void searchFlights_WithClientError_ShouldNotRetry() {
+        // Given
+        status = HttpStatus.BAD_REQUEST;
+        adapter = adapter(5, 0);
+
+        // When
+        ExternalServiceException exception = assertThrows(ExternalServiceException.class, () -> adapter.searchFlights(criteria));
+
+        // Then
+        assertEquals(400, exception.getStatusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void streamFlights_WithClientError_ShouldKeepTheSupplierStatus() {
+        // Given
+        status = HttpStatus.BAD_REQUEST;
+
+        // When
+        ExternalServiceException exception = assertThrows(ExternalServiceException.class,
+                () -> adapter.streamFlights(criteria).collectList().block());
+
+        // Then
+        assertEquals(400, exception.getStatusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void searchFlights_WhenFirstCallIsSlowerThanUsual_ShouldHedgeAndTakeTheFasterAnswer() {
+        // Given
+        status = HttpStatus.OK;
+        firstCallDelay = Duration.ofSeconds(3);
+        adapter = adapter(0, 1);
+        ReflectionTestUtils.setField(adapter, "hedgingEnabled", true);
+        recordLatencies(Duration.ofMillis(10));
+
+        // When
+        List<Flight> flights = adapter.searchFlights(criteria);
+
+        // Then
+        assertTrue(flights.isEmpty());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void searchFlights_WithKnownLatency_ShouldTimeOutWellBeforeTheConfiguredMaximum() {
+        // Given
+        status = HttpStatus.OK;
+        firstCallDelay = Duration.ofSeconds(3);
+        recordLatencies(Duration.ofMillis(10));
+        long start = System.nanoTime();
+
+        // When
+        assertThrows(ExternalServiceException.class, () -> adapter.searchFlights(criteria));
+
+        // Then
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void searchFlights_WhenCallTimesOut_ShouldRecordItSoTheTimeoutCanGrow() {
+        // Given
+        status = HttpStatus.OK;
+        firstCallDelay = Duration.ofSeconds(3);
+        recordLatencies(Duration.ofMillis(10));
+
+        // When
+        assertThrows(ExternalServiceException.class, () -> adapter.searchFlights(criteria));
+        // The tracker only re-sorts its window every few samples
+        latency.record(Duration.ofMillis(10));
+
+        // Then
+        assertEquals(Optional.of(Duration.ofMillis(500)), latency.getPercentile(0.99));
+    }
+
+    @Test
+    void streamFlights_ShouldDecodeSupplierResultsIntoFlights() {
+        // Given
+        status = HttpStatus.OK;
+        body = "[" + supplierFlight("KL") + "," + supplierFlight("TK") + "]";
+
+        // When
+        List<Flight> flights = adapter.streamFlights(criteria).collectList().block();
+
+        // Then
+        assertNotNull(flights);
+        assertEquals(List.of("KL", "TK"), flights.stream().map(Flight::getAirline).toList());
+        assertEquals(ZonedDateTime.of(2024, 6, 1, 8, 0, 0, 0, ZoneId.of("UTC")), flights.getFirst().getDepartureTime());
+    }
+
+    @Test
+    void searchFlights_ShouldDecodeSupplierResultsIntoFlights() {
+        // Given
+        status = HttpStatus.OK;
+        body = "[" + supplierFlight("KL") + "]";
+
+        // When
+        List<Flight> flights = adapter.searchFlights(criteria);
+
+        // Then
+        assertEquals(1, flights.size());
+        assertEquals("KL", flights.getFirst().getAirline());
+        assertEquals(CrazySupplierFlightDeserializer.CRAZY_SUPPLIER, flights.getFirst().getSupplier());
+        assertEquals(new BigDecimal("120.00"), flights.getFirst().getFare());
+    }
+
+    @Test
+    void streamFlights_WhenSupplierStallsAfterTheFirstFlight_ShouldFailWithoutRetrying() {
+        // Given
+        status = HttpStatus.OK;
+        bodyStream = Flux.concat(Flux.just(buffer("[" + supplierFlight("KL") + ",")), Flux.never());
+        adapter = adapter(5, 0);
+        ReflectionTestUtils.setField(adapter, "maxTimeout", 200L);
+        List<Flight> received = new ArrayList<>();
+
+        // When
+        assertThrows(ExternalServiceException.class,
+                () -> adapter.streamFlights(criteria).doOnNext(received::add).blockLast());
+
+        // Then
+        assertEquals(List.of("KL"), received.stream().map(Flight::getAirline).toList());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void searchFlights_WithTooManyResults_ShouldRefuseTheResponse() {
+        // Given
+        status = HttpStatus.OK;
+        body = "[" + supplierFlight("KL") + "," + supplierFlight("TK") + "]";
+        ReflectionTestUtils.setField(adapter, "maxResults", 1);
+
+        // When/Then
+        assertThrows(ExternalServiceException.class, () -> adapter.searchFlights(criteria));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void searchFlights_WithOversizedResponse_ShouldRefuseTheResponse() {
+        // Given
+        status = HttpStatus.OK;
+        body = "[" + String.join(",", Collections.nCopies(20, supplierFlight("KL"))) + "]";
+
+        // When/Then
+        assertThrows(ExternalServiceException.class, () -> adapter.searchFlights(criteria));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void searchFlights_WhenBulkheadIsFull_ShouldFailFastWithoutCallingSupplier() {
+        // Given
+        assertTrue(bulkhead.tryAcquirePermission());
+
+        // When
+        SupplierUnavailableException exception = assertThrows(SupplierUnavailableException.class,
+                () -> adapter.searchFlights(criteria));
+
+        // Then
+        assertEquals(503, exception.getStatusCode());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void streamFlights_WhenCircuitIsOpen_ShouldFailFastWithoutRetrying() {
+        // Given
+        circuitBreaker.transitionToOpenState();
+
+        // When
+        assertThrows(SupplierUnavailableException.class, () -> adapter.streamFlights(criteria).collectList().block());
+
+        // Then
+        assertEquals(0, calls.get());
+    }
+
+    private CrazySupplierClientAdapter adapter(int savedRetries, int savedHedges) {
+        CrazySupplierClientAdapter clientAdapter = new CrazySupplierClientAdapter(webClient,
+                new RequestCoalescer<>("test", List::copyOf, new SimpleMeterRegistry()), circuitBreaker, bulkhead,
+                new RetryBudget("test", 0, savedRetries, new SimpleMeterRegistry()),
+                new RetryBudget("test-hedge", 0, savedHedges, new SimpleMeterRegistry()),
+                latency);
+        ReflectionTestUtils.setField(clientAdapter, "maxResults", 100);
+        ReflectionTestUtils.setField(clientAdapter, "maxAttempts", 3);
+        ReflectionTestUtils.setField(clientAdapter, "retryDelay", 1L);
+        ReflectionTestUtils.setField(clientAdapter, "maxRetryDelay", 5L);
+        ReflectionTestUtils.setField(clientAdapter, "retryJitter", 0.5);
+        ReflectionTestUtils.setField(clientAdapter, "maxTimeout", 5000L);
+        ReflectionTestUtils.setField(clientAdapter, "timeoutPercentile", 0.99);
+        ReflectionTestUtils.setField(clientAdapter, "timeoutMultiplier", 2.0);
+        ReflectionTestUtils.setField(clientAdapter, "minTimeout", 500L);
+        ReflectionTestUtils.setField(clientAdapter, "hedgePercentile", 0.95);
+        ReflectionTestUtils.setField(clientAdapter, "minHedgeDelay", 10L);
+        return clientAdapter;
+    }
+
+    private static String supplierFlight(String carrier) {
+        return "{\"carrier\":\"" + carrier + "\",\"basePrice\":100.00,\"tax\":20.00,"
+                + "\"departureAirportName\":\"AMS\",\"arrivalAirportName\":\"IST\","
+                + "\"outboundDateTime\":\"2024-06-01T10:00:00\",\"inboundDateTime\":\"2024-06-01T14:00:00\"}";
+    }
+
+    private static DataBuffer buffer(String content) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void recordLatencies(Duration duration) {
+        for (int i = 0; i < 20; i++) {
+            latency.record(duration);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.wordline.flight_data_management.infrastructure.external.adapter;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wordline.flight_data_management.application.port.out.CrazySupplierClient;
+import com.wordline.flight_data_management.application.port.out.ReactiveCrazySupplierClient;
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.infrastructure.cache.RefreshAheadCache;
+import com.wordline.flight_data_management.infrastructure.external.model.CrazySupplierRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CrazySupplierFlightSupplierTest {
+
+    private static final ZonedDateTime MORNING = ZonedDateTime.of(2024, 6, 1, 7, 0, 0, 0, ZoneId.of("UTC"));
+
+    @Mock
+    private CrazySupplierClient crazySupplierClient;
+
+    @Mock
+    private ReactiveCrazySupplierClient reactiveCrazySupplierClient;
+
+    private CrazySupplierFlightSupplier supplier;
+
+    @BeforeEach
+    void setUp() {
+        RefreshAheadCache<CrazySupplierRequest, List<Flight>> cache =
+                new RefreshAheadCache<>("test", Caffeine.newBuilder().build(), Duration.ofSeconds(60), Duration.ofSeconds(300),
+                        Duration.ofSeconds(120), Runnable::run, System::nanoTime, new SimpleMeterRegistry());
+        supplier = new CrazySupplierFlightSupplier(crazySupplierClient, reactiveCrazySupplierClient, cache);
+    }
+
+    @Test
+    void searchFlights_ForSameRouteAndCetDay_ShouldCallSupplierOnceAndFilterAirlineLocally() {
+        // Given
+        when(crazySupplierClient.searchFlights(any())).thenReturn(List.of(flight("KL"), flight("TK")));
+
+        // When
+        List<Flight> klm = supplier.searchFlights(criteria("KL", MORNING));
+        List<Flight> turkish = supplier.searchFlights(criteria("TK", MORNING.plusHours(12)));
+        List<Flight> all = supplier.searchFlights(criteria(null, MORNING.plusHours(3)));
+
+        // Then
+        assertEquals(List.of("KL"), klm.stream().map(Flight::getAirline).toList());
+        assertEquals(List.of("TK"), turkish.stream().map(Flight::getAirline).toList());
+        assertEquals(2, all.size());
+        verify(crazySupplierClient, times(1)).searchFlights(any());
+    }
+
+    @Test
+    void searchFlights_OnAnotherCetDay_ShouldCallSupplierAgain() {
+        // Given
+        when(crazySupplierClient.searchFlights(any())).thenReturn(List.of(flight("KL")));
+
+        // When
+        supplier.searchFlights(criteria("KL", MORNING));
+        // 22:30 UTC is already the next day in CEST
+        supplier.searchFlights(criteria("KL", MORNING.withHour(22).withMinute(30)));
+
+        // Then
+        verify(crazySupplierClient, times(2)).searchFlights(any());
+    }
+
+    @Test
+    void streamFlights_WithCachedRoute_ShouldFilterAirlineWithoutCallingSupplier() {
+        // Given
+        when(crazySupplierClient.searchFlights(any())).thenReturn(List.of(flight("KL"), flight("TK")));
+        supplier.searchFlights(criteria(null, MORNING));
+
+        // When
+        List<Flight> flights = supplier.streamFlights(criteria("TK", MORNING)).collectList().block();
+
+        // Then
+        assertNotNull(flights);
+        assertEquals(List.of("TK"), flights.stream().map(Flight::getAirline).toList());
+        verifyNoInteractions(reactiveCrazySupplierClient);
+    }
+
+    private static FlightSearchCriteria criteria(String airline, ZonedDateTime departureTime) {
+        return FlightSearchCriteria.builder()
+                .departureAirport("AMS")
+                .destinationAirport("IST")
+                .airline(airline)
+                .departureTime(departureTime)
+                .build();
+    }
+
+    private static Flight flight(String airline) {
+        return Flight.builder()
+                .airline(airline)
+                .departureAirport("AMS")
+                .destinationAirport("IST")
+                .departureTime(MORNING)
+                .build();
+    }
+}
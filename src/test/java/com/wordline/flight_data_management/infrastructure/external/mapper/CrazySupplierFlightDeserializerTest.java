@@ -0,0 +1,72 @@
+package com.wordline.flight_data_management.infrastructure.external.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wordline.flight_data_management.domain.model.Flight;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrazySupplierFlightDeserializerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .deserializerByType(Flight.class, new CrazySupplierFlightDeserializer())
+            .build();
+
+    @Test
+    void deserialize_ShouldBuildFlightWithTotalFareAndUtcTimes() throws Exception {
+        // Given
+        String json = """
+                {"carrier":"KL","basePrice":100.00,"tax":20.50,"departureAirportName":"AMS","arrivalAirportName":"IST",
+                 "outboundDateTime":"2024-01-15T10:00:00","inboundDateTime":"2024-06-15T10:00:00","cabin":{"class":"Y"}}
+                """;
+
+        // When
+        Flight flight = objectMapper.readValue(json, Flight.class);
+
+        // Then
+        assertNotNull(flight.getId());
+        assertEquals("KL", flight.getAirline());
+        assertEquals(CrazySupplierFlightDeserializer.CRAZY_SUPPLIER, flight.getSupplier());
+        assertEquals(new BigDecimal("120.50"), flight.getFare());
+        assertEquals("AMS", flight.getDepartureAirport());
+        assertEquals("IST", flight.getDestinationAirport());
+        // CET in winter, CEST in summer, each converted exactly once
+        assertEquals(ZonedDateTime.of(2024, 1, 15, 9, 0, 0, 0, ZoneId.of("UTC")), flight.getDepartureTime());
+        assertEquals(ZonedDateTime.of(2024, 6, 15, 8, 0, 0, 0, ZoneId.of("UTC")), flight.getArrivalTime());
+        assertNull(flight.getVersion());
+    }
+
+    @Test
+    void deserialize_ShouldDeriveTheSameIdForTheSameFlightOnly() throws Exception {
+        // Given
+        String json = """
+                {"carrier":"KL","basePrice":%s,"tax":0,"departureAirportName":"AMS","arrivalAirportName":"IST",
+                 "outboundDateTime":"%s","inboundDateTime":"2024-06-15T14:00:00"}
+                """;
+
+        // When
+        Flight flight = objectMapper.readValue(json.formatted("100", "2024-06-15T10:00:00"), Flight.class);
+        Flight repriced = objectMapper.readValue(json.formatted("120", "2024-06-15T10:00:00"), Flight.class);
+        Flight later = objectMapper.readValue(json.formatted("100", "2024-06-15T11:00:00"), Flight.class);
+
+        // Then
+        assertEquals(flight.getId(), repriced.getId());
+        assertNotEquals(flight.getId(), later.getId());
+    }
+
+    @Test
+    void deserialize_WithMissingFields_ShouldLeaveThemEmpty() throws Exception {
+        // When
+        Flight flight = objectMapper.readValue("{\"carrier\":null,\"basePrice\":\"99.99\"}", Flight.class);
+
+        // Then
+        assertNull(flight.getAirline());
+        assertEquals(new BigDecimal("99.99"), flight.getFare());
+        assertNull(flight.getDepartureTime());
+    }
+}
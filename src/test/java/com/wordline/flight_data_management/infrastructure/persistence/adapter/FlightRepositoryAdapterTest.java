@@ -1,29 +1,43 @@
 package com.wordline.flight_data_management.infrastructure.persistence.adapter;
 
+import com.wordline.flight_data_management.domain.model.BulkItemResult;
 import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightCursor;
+import com.wordline.flight_data_management.domain.model.FlightPatch;
 import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
 import com.wordline.flight_data_management.infrastructure.persistence.entity.FlightEntity;
+import com.wordline.flight_data_management.infrastructure.persistence.index.FlightReadModel;
+import com.wordline.flight_data_management.infrastructure.persistence.jdbc.FlightBatchWriter;
 import com.wordline.flight_data_management.infrastructure.persistence.mapper.FlightMapper;
 import com.wordline.flight_data_management.infrastructure.persistence.repository.FlightJpaRepository;
 import com.wordline.flight_data_management.infrastructure.persistence.specification.FlightSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +52,15 @@ class FlightRepositoryAdapterTest {
     @Mock
     private FlightSpecification flightSpecification;
 
+    @Mock
+    private FlightReadModel flightReadModel;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private FlightBatchWriter flightBatchWriter;
+
     @InjectMocks
     private FlightRepositoryAdapter flightRepositoryAdapter;
 
@@ -73,29 +96,25 @@ class FlightRepositoryAdapterTest {
     }
 
     @Test
-    void save_ShouldReturnSavedFlight() {
+    void insert_ShouldMarkEntityNewSoItIsPersistedWithoutMerge() {
         // Given
         when(flightMapper.toEntity(flight)).thenReturn(flightEntity);
         when(flightJpaRepository.save(flightEntity)).thenReturn(flightEntity);
         when(flightMapper.toDomain(flightEntity)).thenReturn(flight);
 
         // When
-        Flight result = flightRepositoryAdapter.save(flight);
+        Flight result = flightRepositoryAdapter.insert(flight);
 
         // Then
-        assertNotNull(result);
-        assertEquals(flight.getId(), result.getId());
-        assertEquals(flight.getAirline(), result.getAirline());
-        verify(flightMapper, times(1)).toEntity(flight);
-        verify(flightJpaRepository, times(1)).save(flightEntity);
-        verify(flightMapper, times(1)).toDomain(flightEntity);
+        assertEquals(flight, result);
+        assertTrue(flightEntity.isNew());
+        verify(flightReadModel, times(1)).upsert(flight);
     }
 
     @Test
     void findById_WhenFlightExists_ShouldReturnFlight() {
         // Given
-        when(flightJpaRepository.findById(flightId)).thenReturn(Optional.of(flightEntity));
-        when(flightMapper.toDomain(flightEntity)).thenReturn(flight);
+        when(flightJpaRepository.findFlightById(flightId)).thenReturn(Optional.of(flight));
 
         // When
         Optional<Flight> result = flightRepositoryAdapter.findById(flightId);
@@ -104,31 +123,27 @@ class FlightRepositoryAdapterTest {
         assertTrue(result.isPresent());
         assertEquals(flight.getId(), result.get().getId());
         assertEquals(flight.getAirline(), result.get().getAirline());
-        verify(flightJpaRepository, times(1)).findById(flightId);
-        verify(flightMapper, times(1)).toDomain(flightEntity);
+        verify(flightJpaRepository, times(1)).findFlightById(flightId);
+        verifyNoInteractions(flightMapper);
     }
 
     @Test
     void findById_WhenFlightDoesNotExist_ShouldReturnEmpty() {
         // Given
-        when(flightJpaRepository.findById(flightId)).thenReturn(Optional.empty());
+        when(flightJpaRepository.findFlightById(flightId)).thenReturn(Optional.empty());
 
         // When
         Optional<Flight> result = flightRepositoryAdapter.findById(flightId);
 
         // Then
         assertFalse(result.isPresent());
-        verify(flightJpaRepository, times(1)).findById(flightId);
-        verify(flightMapper, never()).toDomain(any(FlightEntity.class));
+        verify(flightJpaRepository, times(1)).findFlightById(flightId);
     }
 
     @Test
     void findAll_ShouldReturnAllFlights() {
         // Given
-        List<FlightEntity> entities = List.of(flightEntity);
-        List<Flight> flights = List.of(flight);
-        when(flightJpaRepository.findAll()).thenReturn(entities);
-        when(flightMapper.toDomainList(entities)).thenReturn(flights);
+        when(flightJpaRepository.findAllFlights()).thenReturn(List.of(flight));
 
         // When
         List<Flight> result = flightRepositoryAdapter.findAll();
@@ -138,17 +153,14 @@ class FlightRepositoryAdapterTest {
         assertEquals(1, result.size());
         assertEquals(flight.getId(), result.getFirst().getId());
         assertEquals(flight.getAirline(), result.getFirst().getAirline());
-        verify(flightJpaRepository, times(1)).findAll();
-        verify(flightMapper, times(1)).toDomainList(entities);
+        verify(flightJpaRepository, times(1)).findAllFlights();
+        verifyNoInteractions(flightMapper);
     }
 
     @Test
     void findByCriteria_WithNullCriteria_ShouldReturnAllFlights() {
         // Given
-        List<FlightEntity> entities = List.of(flightEntity);
-        List<Flight> flights = List.of(flight);
-        when(flightJpaRepository.findAll()).thenReturn(entities);
-        when(flightMapper.toDomainList(entities)).thenReturn(flights);
+        when(flightJpaRepository.findAllFlights()).thenReturn(List.of(flight));
 
         // When
         List<Flight> result = flightRepositoryAdapter.findByCriteria(null);
@@ -157,8 +169,8 @@ class FlightRepositoryAdapterTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(flight.getId(), result.getFirst().getId());
-        verify(flightJpaRepository, times(1)).findAll();
-        verify(flightMapper, times(1)).toDomainList(entities);
+        verify(flightJpaRepository, times(1)).findAllFlights();
+        verifyNoInteractions(flightMapper);
     }
 
     @Test
@@ -167,13 +179,10 @@ class FlightRepositoryAdapterTest {
         FlightSearchCriteria criteria = FlightSearchCriteria.builder()
                 .airline("TestAirline")
                 .build();
-        List<FlightEntity> entities = List.of(flightEntity);
-        List<Flight> flights = List.of(flight);
 
         Specification<FlightEntity> spec = mock(Specification.class);
         when(flightSpecification.byCriteria(criteria)).thenReturn(spec);
-        when(flightJpaRepository.findAll(eq(spec), any(Sort.class))).thenReturn(entities);
-        when(flightMapper.toDomainList(entities)).thenReturn(flights);
+        when(flightJpaRepository.findFlights(spec)).thenReturn(List.of(flight));
 
         // When
         List<Flight> result = flightRepositoryAdapter.findByCriteria(criteria);
@@ -183,8 +192,8 @@ class FlightRepositoryAdapterTest {
         assertEquals(1, result.size());
         assertEquals(flight.getId(), result.getFirst().getId());
         verify(flightSpecification, times(1)).byCriteria(criteria);
-        verify(flightJpaRepository, times(1)).findAll(eq(spec), any(Sort.class));
-        verify(flightMapper, times(1)).toDomainList(entities);
+        verify(flightJpaRepository, times(1)).findFlights(spec);
+        verifyNoInteractions(flightMapper);
     }
 
     @Test
@@ -194,13 +203,10 @@ class FlightRepositoryAdapterTest {
                 .departureAirport("AMS")
                 .destinationAirport("IST")
                 .build();
-        List<FlightEntity> entities = List.of(flightEntity);
-        List<Flight> flights = List.of(flight);
 
         Specification<FlightEntity> spec = mock(Specification.class);
         when(flightSpecification.byCriteria(criteria)).thenReturn(spec);
-        when(flightJpaRepository.findAll(eq(spec), any(Sort.class))).thenReturn(entities);
-        when(flightMapper.toDomainList(entities)).thenReturn(flights);
+        when(flightJpaRepository.findFlights(spec)).thenReturn(List.of(flight));
 
         // When
         List<Flight> result = flightRepositoryAdapter.findByCriteria(criteria);
@@ -210,8 +216,8 @@ class FlightRepositoryAdapterTest {
         assertEquals(1, result.size());
         assertEquals(flight.getId(), result.getFirst().getId());
         verify(flightSpecification, times(1)).byCriteria(criteria);
-        verify(flightJpaRepository, times(1)).findAll(eq(spec), any(Sort.class));
-        verify(flightMapper, times(1)).toDomainList(entities);
+        verify(flightJpaRepository, times(1)).findFlights(spec);
+        verifyNoInteractions(flightMapper);
     }
 
     @Test
@@ -222,13 +228,10 @@ class FlightRepositoryAdapterTest {
                 .destinationAirport("IST")
                 .departureTime(ZonedDateTime.now(ZoneId.of("UTC")))
                 .build();
-        List<FlightEntity> entities = List.of(flightEntity);
-        List<Flight> flights = List.of(flight);
 
         Specification<FlightEntity> spec = mock(Specification.class);
         when(flightSpecification.byCriteria(criteria)).thenReturn(spec);
-        when(flightJpaRepository.findAll(eq(spec), any(Sort.class))).thenReturn(entities);
-        when(flightMapper.toDomainList(entities)).thenReturn(flights);
+        when(flightJpaRepository.findFlights(spec)).thenReturn(List.of(flight));
 
         // When
         List<Flight> result = flightRepositoryAdapter.findByCriteria(criteria);
@@ -238,8 +241,8 @@ class FlightRepositoryAdapterTest {
         assertEquals(1, result.size());
         assertEquals(flight.getId(), result.getFirst().getId());
         verify(flightSpecification, times(1)).byCriteria(criteria);
-        verify(flightJpaRepository, times(1)).findAll(eq(spec), any(Sort.class));
-        verify(flightMapper, times(1)).toDomainList(entities);
+        verify(flightJpaRepository, times(1)).findFlights(spec);
+        verifyNoInteractions(flightMapper);
     }
 
     @Test
@@ -251,13 +254,10 @@ class FlightRepositoryAdapterTest {
                 .airline("TestAirline")
                 .departureTime(ZonedDateTime.now(ZoneId.of("UTC")))
                 .build();
-        List<FlightEntity> entities = List.of(flightEntity);
-        List<Flight> flights = List.of(flight);
 
         Specification<FlightEntity> spec = mock(Specification.class);
         when(flightSpecification.byCriteria(criteria)).thenReturn(spec);
-        when(flightJpaRepository.findAll(eq(spec), any(Sort.class))).thenReturn(entities);
-        when(flightMapper.toDomainList(entities)).thenReturn(flights);
+        when(flightJpaRepository.findFlights(spec)).thenReturn(List.of(flight));
 
         // When
         List<Flight> result = flightRepositoryAdapter.findByCriteria(criteria);
@@ -267,8 +267,8 @@ class FlightRepositoryAdapterTest {
         assertEquals(1, result.size());
         assertEquals(flight.getId(), result.getFirst().getId());
         verify(flightSpecification, times(1)).byCriteria(criteria);
-        verify(flightJpaRepository, times(1)).findAll(eq(spec), any(Sort.class));
-        verify(flightMapper, times(1)).toDomainList(entities);
+        verify(flightJpaRepository, times(1)).findFlights(spec);
+        verifyNoInteractions(flightMapper);
     }
 
     @Test
@@ -280,7 +280,7 @@ class FlightRepositoryAdapterTest {
 
         Specification<FlightEntity> spec = mock(Specification.class);
         when(flightSpecification.byCriteria(criteria)).thenReturn(spec);
-        when(flightJpaRepository.findAll(eq(spec), any(Sort.class))).thenReturn(List.of());
+        when(flightJpaRepository.findFlights(spec)).thenReturn(List.of());
 
         // When
         List<Flight> result = flightRepositoryAdapter.findByCriteria(criteria);
@@ -289,20 +289,57 @@ class FlightRepositoryAdapterTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
         verify(flightSpecification, times(1)).byCriteria(criteria);
-        verify(flightJpaRepository, times(1)).findAll(eq(spec), any(Sort.class));
-        verify(flightMapper, times(1)).toDomainList(List.of());
+        verify(flightJpaRepository, times(1)).findFlights(spec);
+    }
+
+    @Test
+    void findPage_WithCursor_ShouldQueryRowsAfterCursor() {
+        // Given
+        FlightCursor after = FlightCursor.after(flight);
+        when(flightJpaRepository.findPageAfter(eq(after.departureTime()), eq(flightId), any(Pageable.class)))
+                .thenReturn(List.of(flightEntity));
+        when(flightMapper.toDomainList(List.of(flightEntity))).thenReturn(List.of(flight));
+
+        // When
+        List<Flight> result = flightRepositoryAdapter.findPage(after, 50);
+
+        // Then
+        assertEquals(List.of(flight), result);
+        verify(flightJpaRepository, never()).findAllByOrderByDepartureTimeAscIdAsc(any(Pageable.class));
+    }
+
+    @Test
+    void forEachFlight_ShouldDetachEachStreamedEntity() {
+        // Given
+        when(flightJpaRepository.streamAllOrdered()).thenReturn(Stream.of(flightEntity));
+        when(flightMapper.toDomain(flightEntity)).thenReturn(flight);
+        List<Flight> exported = new ArrayList<>();
+
+        // When
+        flightRepositoryAdapter.forEachFlight(exported::add);
+
+        // Then
+        assertEquals(List.of(flight), exported);
+        verify(entityManager, times(1)).detach(flightEntity);
     }
 
     @Test
-    void deleteById_ShouldDeleteFlight() {
+    void findByCriteria_WhenReadModelCanServe_ShouldNotQueryDatabase() {
         // Given
-        doNothing().when(flightJpaRepository).deleteById(flightId);
+        FlightSearchCriteria criteria = FlightSearchCriteria.builder()
+                .departureAirport("AMS")
+                .destinationAirport("IST")
+                .departureTime(ZonedDateTime.now(ZoneId.of("UTC")))
+                .build();
+        when(flightReadModel.canServe(criteria)).thenReturn(true);
+        when(flightReadModel.find(criteria)).thenReturn(List.of(flight));
 
         // When
-        flightRepositoryAdapter.deleteById(flightId);
+        List<Flight> result = flightRepositoryAdapter.findByCriteria(criteria);
 
         // Then
-        verify(flightJpaRepository, times(1)).deleteById(flightId);
+        assertEquals(List.of(flight), result);
+        verifyNoInteractions(flightSpecification, flightJpaRepository);
     }
 
     @Test
@@ -330,4 +367,116 @@ class FlightRepositoryAdapterTest {
         assertFalse(result);
         verify(flightJpaRepository, times(1)).existsById(flightId);
     }
+
+    @Test
+    void insertAll_ShouldIndexOnlyInsertedFlights() {
+        // Given
+        Flight duplicate = Flight.builder().id(UUID.randomUUID()).build();
+        List<Flight> flights = List.of(flight, duplicate);
+        List<BulkItemResult> results = List.of(
+                BulkItemResult.succeeded(0, flightId, BulkItemResult.Outcome.CREATED),
+                BulkItemResult.failed(1, duplicate.getId(), BulkItemResult.Outcome.CONFLICT, "Flight already exists"));
+        when(flightBatchWriter.insert(flights)).thenReturn(results);
+
+        // When
+        List<BulkItemResult> result = flightRepositoryAdapter.insertAll(flights);
+
+        // Then
+        assertEquals(results, result);
+        verify(flightReadModel).upsert(flight);
+        verify(flightReadModel, never()).upsert(duplicate);
+    }
+
+    @Test
+    void updateAll_ShouldIndexUpdatedFlightsWithTheirStoredVersions() {
+        // Given
+        Flight missing = Flight.builder().id(UUID.randomUUID()).build();
+        List<Flight> flights = List.of(flight, missing);
+        Flight stored = Flight.builder().id(flightId).airline("AF").version(3L).build();
+        when(flightBatchWriter.update(flights)).thenReturn(List.of(
+                BulkItemResult.succeeded(0, flightId, BulkItemResult.Outcome.UPDATED),
+                BulkItemResult.failed(1, missing.getId(), BulkItemResult.Outcome.NOT_FOUND, "Flight not found")));
+        when(flightJpaRepository.findFlightsByIds(List.of(flightId))).thenReturn(List.of(stored));
+
+        // When
+        flightRepositoryAdapter.updateAll(flights);
+
+        // Then
+        assertEquals(3L, flight.getVersion());
+        verify(flightReadModel).upsert(stored);
+        verify(flightReadModel, times(1)).upsert(any());
+    }
+
+    @Test
+    void deleteAllById_ShouldUnindexOnlyDeletedFlights() {
+        // Given
+        UUID missingId = UUID.randomUUID();
+        when(flightBatchWriter.delete(List.of(flightId, missingId))).thenReturn(List.of(
+                BulkItemResult.succeeded(0, flightId, BulkItemResult.Outcome.DELETED),
+                BulkItemResult.failed(1, missingId, BulkItemResult.Outcome.NOT_FOUND, "Flight not found")));
+
+        // When
+        flightRepositoryAdapter.deleteAllById(List.of(flightId, missingId));
+
+        // Then
+        verify(flightReadModel).remove(flightId);
+        verify(flightReadModel, never()).remove(missingId);
+    }
+
+    @Test
+    void remove_ShouldDeleteWithOneStatement() {
+        // Given
+        when(flightJpaRepository.deleteFlight(flightId, null)).thenReturn(1);
+
+        // When
+        boolean removed = flightRepositoryAdapter.remove(flightId, null);
+
+        // Then
+        assertTrue(removed);
+        verify(flightJpaRepository, never()).deleteById(any(UUID.class));
+        verify(flightReadModel).remove(flightId);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void patch_ShouldSetOnlyGivenColumnsAndReturnPatchedFlight() {
+        // Given
+        CriteriaBuilder criteriaBuilder = mock(CriteriaBuilder.class);
+        CriteriaUpdate<FlightEntity> update = mock(CriteriaUpdate.class);
+        Root<FlightEntity> root = mock(Root.class);
+        Query query = mock(Query.class);
+        when(entityManager.getCriteriaBuilder()).thenReturn(criteriaBuilder);
+        when(criteriaBuilder.createCriteriaUpdate(FlightEntity.class)).thenReturn(update);
+        when(update.from(FlightEntity.class)).thenReturn(root);
+        when(entityManager.createQuery(update)).thenReturn(query);
+        when(query.executeUpdate()).thenReturn(1);
+        when(flightJpaRepository.findFlightById(flightId)).thenReturn(Optional.of(flight));
+        FlightPatch patch = FlightPatch.builder().fare(new BigDecimal("80.00")).build();
+
+        // When
+        Optional<Flight> result = flightRepositoryAdapter.patch(flightId, patch, null);
+
+        // Then
+        assertEquals(Optional.of(flight), result);
+        verify(update).set("fare", new BigDecimal("80.00"));
+        verify(update, times(1)).set(anyString(), any(Object.class));
+        verify(flightReadModel).upsert(flight);
+    }
+
+    @Test
+    void patch_WhenNoRowMatches_ShouldReturnEmptyWithoutReadingBack() {
+        // Given
+        CriteriaBuilder criteriaBuilder = mock(CriteriaBuilder.class, RETURNS_DEEP_STUBS);
+        when(entityManager.getCriteriaBuilder()).thenReturn(criteriaBuilder);
+        Query query = mock(Query.class);
+        when(entityManager.createQuery(any(CriteriaUpdate.class))).thenReturn(query);
+        when(query.executeUpdate()).thenReturn(0);
+
+        // When
+        Optional<Flight> result = flightRepositoryAdapter.patch(flightId, FlightPatch.builder().airline("KL").build(), null);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(flightJpaRepository, never()).findFlightById(any(UUID.class));
+    }
 }
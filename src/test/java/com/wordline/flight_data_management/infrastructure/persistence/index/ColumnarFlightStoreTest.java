@@ -0,0 +1,156 @@
+package com.wordline.flight_data_management.infrastructure.persistence.index;
+
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.infrastructure.persistence.mapper.FlightMapper;
+import com.wordline.flight_data_management.infrastructure.persistence.repository.FlightJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ColumnarFlightStoreTest {
+
+    private static final ZonedDateTime DEPARTURE = ZonedDateTime.of(2025, 6, 1, 10, 0, 0, 0, ZoneId.of("UTC"));
+
+    @Mock
+    private FlightJpaRepository flightJpaRepository;
+
+    @Mock
+    private FlightMapper flightMapper;
+
+    private ColumnarFlightStore store;
+
+    private Flight flight;
+
+    @BeforeEach
+    void setUp() {
+        store = new ColumnarFlightStore(flightJpaRepository, flightMapper, new SimpleMeterRegistry());
+        flight = flight("AMS", "IST", "KLM", DEPARTURE);
+        flight.setVersion(7L);
+        when(flightMapper.toDomainList(any())).thenReturn(List.of(flight));
+        store.load();
+    }
+
+    @Test
+    void find_ShouldRestoreAllColumnsOfMatchingFlight() {
+        // When
+        List<Flight> result = store.find(FlightSearchCriteria.builder()
+                .departureAirport("AMS")
+                .destinationAirport("IST")
+                .departureTime(DEPARTURE.withHour(0))
+                .build());
+
+        // Then
+        assertEquals(List.of(flight), result);
+    }
+
+    @Test
+    void find_WithAirlineOnly_ShouldScanAllRoutes() {
+        // Given
+        store.upsert(flight("CDG", "JFK", "KLM", DEPARTURE.minusDays(3)));
+        store.upsert(flight("CDG", "JFK", "AFR", DEPARTURE));
+
+        // When
+        List<Flight> result = store.find(FlightSearchCriteria.builder().airline("KLM").build());
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals("CDG", result.getFirst().getDepartureAirport());
+        assertTrue(store.find(FlightSearchCriteria.builder().airline("UNKNOWN").build()).isEmpty());
+    }
+
+    @Test
+    void upsert_WithExistingId_ShouldReplaceRow() {
+        // Given
+        Flight moved = flight("AMS", "LHR", "KLM", DEPARTURE);
+        moved.setId(flight.getId());
+
+        // When
+        store.upsert(moved);
+
+        // Then
+        assertEquals(1, store.size());
+        assertEquals(List.of(moved), store.find(FlightSearchCriteria.builder().destinationAirport("LHR").build()));
+    }
+
+    @Test
+    void upsert_WithOlderVersion_ShouldKeepNewerRow() {
+        // Given
+        Flight newer = flight("AMS", "LHR", "KLM", DEPARTURE);
+        newer.setId(flight.getId());
+        newer.setVersion(flight.getVersion() + 1);
+        Flight older = flight("AMS", "CDG", "KLM", DEPARTURE);
+        older.setId(flight.getId());
+        older.setVersion(1L);
+        store.upsert(newer);
+
+        // When
+        store.upsert(older);
+
+        // Then
+        assertEquals(List.of(newer), store.find(FlightSearchCriteria.builder().departureAirport("AMS").build()));
+    }
+
+    @Test
+    void remove_ShouldKeepRemainingRowsAddressable() {
+        // Given
+        List<Flight> flights = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            Flight added = flight("AMS", "IST", "KLM", DEPARTURE.plusMinutes(i));
+            flights.add(added);
+            store.upsert(added);
+        }
+
+        // When
+        for (int i = 0; i < flights.size(); i += 2) {
+            store.remove(flights.get(i).getId());
+        }
+        store.remove(flight.getId());
+
+        // Then
+        assertEquals(1500, store.size());
+        List<Flight> remaining = store.find(FlightSearchCriteria.builder().departureAirport("AMS").build());
+        assertEquals(IntStream.range(0, flights.size()).filter(i -> i % 2 == 1).mapToObj(flights::get).toList(), remaining);
+    }
+
+    @Test
+    void find_WithIrregularAirportCode_ShouldUseDictionaryEncoding() {
+        // Given
+        Flight irregular = flight("EHAM", "IST", "KLM", DEPARTURE);
+        store.upsert(irregular);
+
+        // When
+        List<Flight> result = store.find(FlightSearchCriteria.builder().departureAirport("EHAM").build());
+
+        // Then
+        assertEquals(List.of(irregular), result);
+    }
+
+    private static Flight flight(String departureAirport, String destinationAirport, String airline, ZonedDateTime departureTime) {
+        return Flight.builder()
+                .id(UUID.randomUUID())
+                .airline(airline)
+                .supplier("TestSupplier")
+                .fare(new BigDecimal("123.45"))
+                .departureAirport(departureAirport)
+                .destinationAirport(destinationAirport)
+                .departureTime(departureTime)
+                .arrivalTime(departureTime.plusHours(4))
+                .build();
+    }
+}
@@ -0,0 +1,170 @@
+package com.wordline.flight_data_management.infrastructure.persistence.index;
+
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.infrastructure.persistence.mapper.FlightMapper;
+import com.wordline.flight_data_management.infrastructure.persistence.repository.FlightJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlightRouteIndexTest {
+
+    private static final ZonedDateTime DEPARTURE = ZonedDateTime.of(2025, 6, 1, 10, 0, 0, 0, ZoneId.of("UTC"));
+
+    @Mock
+    private FlightJpaRepository flightJpaRepository;
+
+    @Mock
+    private FlightMapper flightMapper;
+
+    private FlightRouteIndex flightRouteIndex;
+
+    private Flight morningFlight;
+    private Flight eveningFlight;
+
+    @BeforeEach
+    void setUp() {
+        flightRouteIndex = new FlightRouteIndex(flightJpaRepository, flightMapper, new SimpleMeterRegistry());
+        morningFlight = flight("KLM", DEPARTURE);
+        eveningFlight = flight("THY", DEPARTURE.plusHours(8));
+        when(flightMapper.toDomainList(any())).thenReturn(List.of(eveningFlight, morningFlight));
+        flightRouteIndex.load();
+    }
+
+    @Test
+    void find_ShouldReturnRouteDayFlightsOrderedByDepartureTime() {
+        // When
+        List<Flight> result = flightRouteIndex.find(criteria(null));
+
+        // Then
+        assertEquals(List.of(morningFlight.getId(), eveningFlight.getId()), result.stream().map(Flight::getId).toList());
+    }
+
+    @Test
+    void find_WithAirline_ShouldFilterWithinBucket() {
+        // When
+        List<Flight> result = flightRouteIndex.find(criteria("THY"));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(eveningFlight.getId(), result.getFirst().getId());
+    }
+
+    @Test
+    void find_ShouldReturnCopiesOfIndexedFlights() {
+        // Given
+        Flight found = flightRouteIndex.find(criteria("KLM")).getFirst();
+
+        // When
+        found.setAirline("THY");
+        found.setDepartureTime(DEPARTURE.plusDays(3));
+
+        // Then
+        Flight indexed = flightRouteIndex.find(criteria("KLM")).getFirst();
+        assertEquals("KLM", indexed.getAirline());
+        assertEquals(DEPARTURE, indexed.getDepartureTime());
+    }
+
+    @Test
+    void upsert_WhenRouteChanges_ShouldMoveFlightToNewBucket() {
+        // Given
+        morningFlight.setDepartureTime(DEPARTURE.plusDays(1));
+
+        // When
+        flightRouteIndex.upsert(morningFlight);
+
+        // Then
+        assertEquals(List.of(eveningFlight.getId()), flightRouteIndex.find(criteria(null)).stream().map(Flight::getId).toList());
+        assertEquals(2, flightRouteIndex.size());
+    }
+
+    @Test
+    void upsert_WithOlderVersion_ShouldKeepNewerFlight() {
+        // Given
+        morningFlight.setVersion(2L);
+        flightRouteIndex.upsert(morningFlight);
+        Flight older = flight("KLM", DEPARTURE.plusDays(1));
+        older.setId(morningFlight.getId());
+        older.setVersion(1L);
+
+        // When
+        flightRouteIndex.upsert(older);
+
+        // Then
+        assertEquals(List.of(morningFlight.getId(), eveningFlight.getId()),
+                flightRouteIndex.find(criteria(null)).stream().map(Flight::getId).toList());
+        assertEquals(2, flightRouteIndex.size());
+    }
+
+    @Test
+    void remove_ShouldDropFlightFromIndex() {
+        // When
+        flightRouteIndex.remove(eveningFlight.getId());
+
+        // Then
+        assertEquals(1, flightRouteIndex.find(criteria(null)).size());
+        assertEquals(1, flightRouteIndex.size());
+    }
+
+    @Test
+    void load_WhenSnapshotFails_ShouldStayUnloadedAndStopQueueingWrites() {
+        // Given
+        FlightRouteIndex failedIndex = new FlightRouteIndex(flightJpaRepository, flightMapper, new SimpleMeterRegistry());
+        when(flightJpaRepository.findAll()).thenThrow(new IllegalStateException("Database unavailable"));
+
+        // When
+        failedIndex.load();
+        failedIndex.upsert(morningFlight);
+
+        // Then
+        assertFalse(failedIndex.isLoaded());
+        assertFalse(failedIndex.canServe(criteria(null)));
+        assertEquals(1, failedIndex.size());
+    }
+
+    @Test
+    void canServe_WithoutFullRouteAndDay_ShouldFallBackToDatabase() {
+        // Given
+        FlightSearchCriteria airlineOnly = FlightSearchCriteria.builder().airline("KLM").build();
+
+        // When/Then
+        assertTrue(flightRouteIndex.canServe(criteria(null)));
+        assertFalse(flightRouteIndex.canServe(airlineOnly));
+    }
+
+    private static FlightSearchCriteria criteria(String airline) {
+        return FlightSearchCriteria.builder()
+                .departureAirport("AMS")
+                .destinationAirport("IST")
+                .airline(airline)
+                .departureTime(DEPARTURE.withHour(0))
+                .build();
+    }
+
+    private static Flight flight(String airline, ZonedDateTime departureTime) {
+        return Flight.builder()
+                .id(UUID.randomUUID())
+                .airline(airline)
+                .supplier("TestSupplier")
+                .fare(new BigDecimal("100.00"))
+                .departureAirport("AMS")
+                .destinationAirport("IST")
+                .departureTime(departureTime)
+                .arrivalTime(departureTime.plusHours(4))
+                .build();
+    }
+}
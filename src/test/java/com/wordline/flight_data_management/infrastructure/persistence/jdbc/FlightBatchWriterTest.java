@@ -0,0 +1,108 @@
+package com.wordline.flight_data_management.infrastructure.persistence.jdbc;
+
+import com.wordline.flight_data_management.domain.model.BulkItemResult;
+import com.wordline.flight_data_management.domain.model.BulkItemResult.Outcome;
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.infrastructure.persistence.repository.FlightJpaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Chunks commit on their own, so the test must not wrap them in a rolled-back transaction
+@DataJpaTest
+@Import(FlightBatchWriter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {"flight.bulk.batch-size=2", "flight.bulk.chunk-size=3"})
+class FlightBatchWriterTest {
+
+    private static final ZonedDateTime DEPARTURE = ZonedDateTime.of(2025, 6, 1, 10, 0, 0, 0, ZoneId.of("UTC"));
+
+    @Autowired
+    private FlightBatchWriter flightBatchWriter;
+
+    @Autowired
+    private FlightJpaRepository flightJpaRepository;
+
+    @AfterEach
+    void tearDown() {
+        flightJpaRepository.deleteAll();
+    }
+
+    @Test
+    void insert_ShouldWriteEveryFlightAcrossChunks() {
+        // Given
+        List<Flight> flights = List.of(flight("KL"), flight("TK"), flight("AF"), flight("LH"), flight("BA"));
+
+        // When
+        List<BulkItemResult> results = flightBatchWriter.insert(flights);
+
+        // Then
+        assertEquals(5, results.size());
+        assertTrue(results.stream().allMatch(result -> result.outcome() == Outcome.CREATED));
+        assertEquals(4, results.get(4).index());
+        assertEquals(5, flightJpaRepository.count());
+        assertEquals("BA", flightJpaRepository.findById(flights.get(4).getId()).orElseThrow().getAirline());
+    }
+
+    @Test
+    void insert_WithDuplicate_ShouldReportConflictAndKeepTheRestOfTheChunk() {
+        // Given
+        Flight existing = flight("KL");
+        flightBatchWriter.insert(List.of(existing));
+        List<Flight> flights = List.of(flight("TK"), existing, flight("AF"));
+
+        // When
+        List<BulkItemResult> results = flightBatchWriter.insert(flights);
+
+        // Then
+        assertEquals(List.of(Outcome.CREATED, Outcome.CONFLICT, Outcome.CREATED),
+                results.stream().map(BulkItemResult::outcome).toList());
+        assertEquals(3, flightJpaRepository.count());
+    }
+
+    @Test
+    void updateAndDelete_ShouldReportMissingFlightsAsNotFound() {
+        // Given
+        Flight existing = flight("KL");
+        flightBatchWriter.insert(List.of(existing));
+        existing.setFare(new BigDecimal("250.00"));
+        Flight missing = flight("TK");
+
+        // When
+        List<BulkItemResult> updated = flightBatchWriter.update(List.of(existing, missing));
+        BigDecimal fare = flightJpaRepository.findById(existing.getId()).orElseThrow().getFare();
+        List<BulkItemResult> deleted = flightBatchWriter.delete(List.of(missing.getId(), existing.getId()));
+
+        // Then
+        assertEquals(List.of(Outcome.UPDATED, Outcome.NOT_FOUND), updated.stream().map(BulkItemResult::outcome).toList());
+        assertEquals(0, new BigDecimal("250.00").compareTo(fare));
+        assertEquals(List.of(Outcome.NOT_FOUND, Outcome.DELETED), deleted.stream().map(BulkItemResult::outcome).toList());
+        assertEquals(0, flightJpaRepository.count());
+    }
+
+    private static Flight flight(String airline) {
+        return Flight.builder()
+                .id(UUID.randomUUID())
+                .airline(airline)
+                .supplier("TestSupplier")
+                .fare(new BigDecimal("100.00"))
+                .departureAirport("AMS")
+                .destinationAirport("IST")
+                .departureTime(DEPARTURE)
+                .arrivalTime(DEPARTURE.plusHours(4))
+                .build();
+    }
+}
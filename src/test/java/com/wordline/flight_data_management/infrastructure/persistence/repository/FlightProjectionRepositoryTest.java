@@ -0,0 +1,86 @@
+package com.wordline.flight_data_management.infrastructure.persistence.repository;
+
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.infrastructure.persistence.entity.FlightEntity;
+import com.wordline.flight_data_management.infrastructure.persistence.specification.FlightSpecification;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(FlightSpecification.class)
+class FlightProjectionRepositoryTest {
+
+    private static final ZonedDateTime DEPARTURE = ZonedDateTime.of(2025, 6, 1, 10, 0, 0, 0, ZoneId.of("UTC"));
+
+    @Autowired
+    private FlightJpaRepository flightJpaRepository;
+
+    @Autowired
+    private FlightSpecification flightSpecification;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private FlightEntity late;
+    private FlightEntity early;
+
+    @BeforeEach
+    void setUp() {
+        late = flightJpaRepository.save(entity("KL", DEPARTURE.plusHours(5)));
+        early = flightJpaRepository.save(entity("TK", DEPARTURE));
+        flightJpaRepository.save(entity("AF", DEPARTURE.plusDays(1)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findFlights_ShouldReturnMatchingFlightsInDepartureOrderWithoutManagedEntities() {
+        // When
+        List<Flight> result = flightJpaRepository.findFlights(flightSpecification.byCriteria(FlightSearchCriteria.builder()
+                .departureAirport("AMS")
+                .departureTime(DEPARTURE)
+                .build()));
+
+        // Then
+        assertEquals(List.of(early.getId(), late.getId()), result.stream().map(Flight::getId).toList());
+        assertEquals("TK", result.getFirst().getAirline());
+        assertEquals(0L, result.getFirst().getVersion());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void findFlightById_ShouldReturnFlightOrEmpty() {
+        // When/Then
+        assertEquals("KL", flightJpaRepository.findFlightById(late.getId()).orElseThrow().getAirline());
+        assertTrue(flightJpaRepository.findFlightById(UUID.randomUUID()).isEmpty());
+        assertEquals(3, flightJpaRepository.findAllFlights().size());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    private static FlightEntity entity(String airline, ZonedDateTime departureTime) {
+        return FlightEntity.builder()
+                .id(UUID.randomUUID())
+                .airline(airline)
+                .supplier("TestSupplier")
+                .fare(new BigDecimal("123.45"))
+                .departureAirport("AMS")
+                .destinationAirport("IST")
+                .departureTime(departureTime)
+                .arrivalTime(departureTime.plusHours(4))
+                .build();
+    }
+}
@@ -1,13 +1,25 @@
 package com.wordline.flight_data_management.infrastructure.rest.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.wordline.flight_data_management.application.port.in.FlightService;
+import com.wordline.flight_data_management.application.port.in.ReactiveFlightService;
 import com.wordline.flight_data_management.domain.exception.FlightNotFoundException;
+import com.wordline.flight_data_management.domain.exception.FlightVersionConflictException;
+import com.wordline.flight_data_management.domain.model.BulkItemResult;
 import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightCursor;
+import com.wordline.flight_data_management.domain.model.FlightPage;
+import com.wordline.flight_data_management.domain.model.FlightPatch;
 import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
+import com.wordline.flight_data_management.infrastructure.cache.EncodedResponseCache;
+import com.wordline.flight_data_management.infrastructure.rest.dto.BulkCreateFlightsRequest;
+import com.wordline.flight_data_management.infrastructure.rest.dto.BulkItemResultDto;
+import com.wordline.flight_data_management.infrastructure.rest.dto.BulkResultDto;
 import com.wordline.flight_data_management.infrastructure.rest.dto.CreateFlightRequest;
 import com.wordline.flight_data_management.infrastructure.rest.dto.FlightDto;
+import com.wordline.flight_data_management.infrastructure.rest.dto.FlightPageDto;
 import com.wordline.flight_data_management.infrastructure.rest.dto.FlightSearchRequest;
 import com.wordline.flight_data_management.infrastructure.rest.dto.UpdateFlightRequest;
 import com.wordline.flight_data_management.infrastructure.rest.exception.GlobalExceptionHandler;
@@ -17,25 +29,40 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import reactor.core.publisher.Flux;
+
 import java.math.BigDecimal;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +77,15 @@ class FlightControllerTest {
     @Mock
     private FlightDtoMapper flightDtoMapper;
 
+    @Mock
+    private ReactiveFlightService reactiveFlightService;
+
+    @Mock
+    private EncodedResponseCache encodedResponseCache;
+
+    @Spy
+    private ObjectMapper jsonMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
     @InjectMocks
     private FlightController flightController;
 
@@ -146,9 +182,10 @@ class FlightControllerTest {
     @Test
     void updateFlight_WhenFlightExists_ShouldReturnUpdatedFlight() throws Exception {
         // Given
-        when(flightService.getFlightById(flightId)).thenReturn(Optional.of(flight));
-        when(flightDtoMapper.toDomain(eq(flightId), any(UpdateFlightRequest.class), any(Flight.class))).thenReturn(flight);
-        when(flightService.updateFlight(eq(flightId), any(Flight.class))).thenReturn(flight);
+        FlightPatch patch = FlightPatch.builder().airline("UpdatedAirline").build();
+        when(flightDtoMapper.toPatch(any(UpdateFlightRequest.class))).thenReturn(patch);
+        when(flightDtoMapper.toExpectedVersion(null)).thenReturn(null);
+        when(flightService.patchFlight(flightId, patch, null)).thenReturn(flight);
         when(flightDtoMapper.toDto(any(Flight.class))).thenReturn(flightDto);
 
         // When/Then
@@ -159,26 +196,40 @@ class FlightControllerTest {
                 .andExpect(jsonPath("$.id", is(flightId.toString())))
                 .andExpect(jsonPath("$.airline", is("TestAirline")));
 
-        verify(flightService, times(1)).getFlightById(flightId);
-        verify(flightDtoMapper, times(1)).toDomain(eq(flightId), any(UpdateFlightRequest.class), any(Flight.class));
-        verify(flightService, times(1)).updateFlight(eq(flightId), any(Flight.class));
+        verify(flightService, never()).getFlightById(any(UUID.class));
+        verify(flightService, times(1)).patchFlight(flightId, patch, null);
         verify(flightDtoMapper, times(1)).toDto(any(Flight.class));
     }
 
     @Test
     void updateFlight_WhenFlightDoesNotExist_ShouldReturnNotFound() throws Exception {
         // Given
-        when(flightService.getFlightById(flightId)).thenReturn(Optional.empty());
+        when(flightDtoMapper.toPatch(any(UpdateFlightRequest.class))).thenReturn(new FlightPatch());
+        when(flightDtoMapper.toExpectedVersion(null)).thenReturn(null);
+        when(flightService.patchFlight(eq(flightId), any(FlightPatch.class), isNull())).thenThrow(FlightNotFoundException.withId(flightId));
 
         // When/Then
         mockMvc.perform(put("/flights/{id}", flightId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updateFlightRequest)))
                 .andExpect(status().isNotFound());
+    }
 
-        verify(flightService, times(1)).getFlightById(flightId);
-        verify(flightDtoMapper, never()).toDomain(any(UUID.class), any(UpdateFlightRequest.class), any(Flight.class));
-        verify(flightService, never()).updateFlight(any(UUID.class), any(Flight.class));
+    @Test
+    void patchFlight_ShouldReturnPatchedFlight() throws Exception {
+        // Given
+        FlightPatch patch = FlightPatch.builder().airline("UpdatedAirline").build();
+        when(flightDtoMapper.toPatch(any(UpdateFlightRequest.class))).thenReturn(patch);
+        when(flightDtoMapper.toExpectedVersion(null)).thenReturn(null);
+        when(flightService.patchFlight(flightId, patch, null)).thenReturn(flight);
+        when(flightDtoMapper.toDto(flight)).thenReturn(flightDto);
+
+        // When/Then
+        mockMvc.perform(patch("/flights/{id}", flightId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateFlightRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(flightId.toString())));
     }
 
     @Test
@@ -210,6 +261,43 @@ class FlightControllerTest {
         verify(flightDtoMapper, never()).toDto(any(Flight.class));
     }
 
+    @Test
+    void getFlightById_WithEncodedResponseCache_ShouldEncodeCachedFlightOnce() throws Exception {
+        // Given
+        EncodedResponseCache enabledCache = new EncodedResponseCache(Caffeine.newBuilder().build(), true, new SimpleMeterRegistry());
+        MockMvc encodingMockMvc = MockMvcBuilders.standaloneSetup(
+                        new FlightController(flightService, flightDtoMapper, reactiveFlightService, jsonMapper, enabledCache))
+                .build();
+        when(flightService.getFlightById(flightId)).thenReturn(Optional.of(flight));
+        when(flightDtoMapper.toDto(flight)).thenReturn(flightDto);
+        when(flightDtoMapper.toETag(flight)).thenReturn("\"0\"");
+
+        // When/Then
+        for (int request = 0; request < 2; request++) {
+            encodingMockMvc.perform(get("/flights/{id}", flightId))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                    .andExpect(jsonPath("$.id", is(flightId.toString())));
+        }
+        verify(flightDtoMapper, times(1)).toDto(flight);
+        verify(jsonMapper, times(1)).writeValueAsBytes(flightDto);
+    }
+
+    @Test
+    void getFlightById_WithCurrentETag_ShouldReturnNotModified() throws Exception {
+        // Given
+        when(flightService.getFlightById(flightId)).thenReturn(Optional.of(flight));
+        when(flightDtoMapper.toDto(any(Flight.class))).thenReturn(flightDto);
+        when(flightDtoMapper.toETag(flight)).thenReturn("\"3\"");
+
+        // When/Then
+        mockMvc.perform(get("/flights/{id}", flightId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
     @Test
     void getAllFlights_ShouldReturnAllFlights() throws Exception {
         // Given
@@ -230,25 +318,56 @@ class FlightControllerTest {
     @Test
     void deleteFlight_WhenFlightExists_ShouldReturnNoContent() throws Exception {
         // Given
-        doNothing().when(flightService).deleteFlight(flightId);
+        when(flightDtoMapper.toExpectedVersion(null)).thenReturn(null);
+        doNothing().when(flightService).deleteFlight(flightId, null);
 
         // When/Then
         mockMvc.perform(delete("/flights/{id}", flightId))
                 .andExpect(status().isNoContent());
 
-        verify(flightService, times(1)).deleteFlight(flightId);
+        verify(flightService, times(1)).deleteFlight(flightId, null);
     }
 
     @Test
     void deleteFlight_WhenFlightDoesNotExist_ShouldReturnNotFound() throws Exception {
         // Given
-        doThrow(FlightNotFoundException.withId(flightId)).when(flightService).deleteFlight(flightId);
+        when(flightDtoMapper.toExpectedVersion(null)).thenReturn(null);
+        doThrow(FlightNotFoundException.withId(flightId)).when(flightService).deleteFlight(flightId, null);
 
         // When/Then
         mockMvc.perform(delete("/flights/{id}", flightId))
                 .andExpect(status().isNotFound());
 
-        verify(flightService, times(1)).deleteFlight(flightId);
+        verify(flightService, times(1)).deleteFlight(flightId, null);
+    }
+
+    @Test
+    void deleteFlight_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        // Given
+        when(flightDtoMapper.toExpectedVersion("\"2\"")).thenReturn(2L);
+        doThrow(FlightVersionConflictException.withId(flightId, 2L)).when(flightService).deleteFlight(flightId, 2L);
+
+        // When/Then
+        mockMvc.perform(delete("/flights/{id}", flightId)
+                        .header(HttpHeaders.IF_MATCH, "\"2\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void searchFlightsByQuery_ShouldReturnResultsWithETag() throws Exception {
+        // Given
+        when(flightDtoMapper.toDomain(any(FlightSearchRequest.class))).thenReturn(flightSearchCriteria);
+        when(flightService.searchFlights(flightSearchCriteria)).thenReturn(List.of(flight));
+        when(flightDtoMapper.toETag(List.of(flight))).thenReturn("\"abc\"");
+        when(flightDtoMapper.toDtoList(anyList())).thenReturn(List.of(flightDto));
+
+        // When/Then
+        mockMvc.perform(get("/flights/search")
+                        .param("departureAirport", "AMS")
+                        .param("destinationAirport", "IST"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc\""))
+                .andExpect(jsonPath("$", hasSize(1)));
     }
 
     @Test
@@ -290,4 +409,149 @@ class FlightControllerTest {
         verify(flightService, times(1)).searchFlights(any(FlightSearchCriteria.class));
         verify(flightDtoMapper, times(1)).toDtoList(anyList());
     }
+
+    @Test
+    void searchFlightsReactive_ShouldReturnMatchingFlights() throws Exception {
+        // Given
+        when(flightDtoMapper.toDomain(any(FlightSearchRequest.class))).thenReturn(flightSearchCriteria);
+        when(reactiveFlightService.searchFlights(any(FlightSearchCriteria.class))).thenReturn(Flux.just(flight));
+        when(flightDtoMapper.toDto(any(Flight.class))).thenReturn(flightDto);
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(post("/flights/search/reactive")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(flightSearchRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(flightId.toString())));
+
+        verify(reactiveFlightService, times(1)).searchFlights(any(FlightSearchCriteria.class));
+        verify(flightService, never()).searchFlights(any(FlightSearchCriteria.class));
+    }
+
+    @Test
+    void streamSearchFlights_ShouldWriteOneNdjsonLinePerFlight() throws Exception {
+        // Given
+        when(flightDtoMapper.toDomain(any(FlightSearchRequest.class))).thenReturn(flightSearchCriteria);
+        when(reactiveFlightService.searchFlights(any(FlightSearchCriteria.class))).thenReturn(Flux.just(flight));
+        when(flightDtoMapper.toDto(any(Flight.class))).thenReturn(flightDto);
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(post("/flights/search/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(flightSearchRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString(flightId.toString())));
+
+        verify(reactiveFlightService, times(1)).searchFlights(any(FlightSearchCriteria.class));
+    }
+
+    @Test
+    void getFlightPage_ShouldReturnFlightsAndNextCursor() throws Exception {
+        // Given
+        FlightCursor next = FlightCursor.after(flight);
+        FlightPage page = new FlightPage(List.of(flight), next);
+        when(flightDtoMapper.toCursor("abc")).thenReturn(null);
+        when(flightService.getFlightPage(null, 1)).thenReturn(page);
+        when(flightDtoMapper.toPageDto(page)).thenReturn(new FlightPageDto(List.of(flightDto), "next-token"));
+
+        // When/Then
+        mockMvc.perform(get("/flights/page").param("cursor", "abc").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.flights", hasSize(1)))
+                .andExpect(jsonPath("$.flights[0].id", is(flightId.toString())))
+                .andExpect(jsonPath("$.nextCursor", is("next-token")));
+
+        verify(flightService, times(1)).getFlightPage(null, 1);
+    }
+
+    @Test
+    void getFlightPage_WithLimitAboveMaximum_ShouldReturnBadRequest() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/flights/page").param("limit", "5000"))
+                .andExpect(status().isBadRequest());
+
+        verify(flightService, never()).getFlightPage(any(), anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportFlights_ShouldWriteOneNdjsonLinePerFlight() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<Flight> consumer = invocation.getArgument(0);
+            consumer.accept(flight);
+            consumer.accept(flight);
+            return null;
+        }).when(flightService).exportFlights(any(Consumer.class));
+        when(flightDtoMapper.toDto(any(Flight.class))).thenReturn(flightDto);
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(get("/flights/export").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertEquals(2, body.lines().count());
+        assertTrue(body.lines().allMatch(line -> line.contains(flightId.toString())));
+    }
+
+    @Test
+    void createFlights_ShouldReturnOutcomePerFlight() throws Exception {
+        // Given
+        BulkCreateFlightsRequest request = new BulkCreateFlightsRequest(List.of(createFlightRequest, createFlightRequest));
+        List<BulkItemResult> results = List.of(
+                BulkItemResult.succeeded(0, flightId, BulkItemResult.Outcome.CREATED),
+                BulkItemResult.failed(1, flightId, BulkItemResult.Outcome.CONFLICT, "Flight already exists"));
+        BulkResultDto resultDto = BulkResultDto.builder()
+                .succeeded(1)
+                .failed(1)
+                .items(List.of(
+                        BulkItemResultDto.builder().index(0).id(flightId).outcome("CREATED").build(),
+                        BulkItemResultDto.builder().index(1).id(flightId).outcome("CONFLICT").message("Flight already exists").build()))
+                .build();
+        when(flightDtoMapper.toDomain(any(CreateFlightRequest.class))).thenReturn(flight);
+        when(flightService.createFlights(anyList())).thenReturn(results);
+        when(flightDtoMapper.toBulkResultDto(results)).thenReturn(resultDto);
+
+        // When/Then
+        mockMvc.perform(post("/flights/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(1)))
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[1].outcome", is("CONFLICT")));
+
+        verify(flightDtoMapper, times(2)).toDomain(any(CreateFlightRequest.class));
+    }
+
+    @Test
+    void createFlights_WithEmptyList_ShouldReturnBadRequest() throws Exception {
+        // When/Then
+        mockMvc.perform(post("/flights/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkCreateFlightsRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verify(flightService, never()).createFlights(anyList());
+    }
 }
@@ -0,0 +1,77 @@
+package com.wordline.flight_data_management.infrastructure.rest.converter;
+
+import com.wordline.flight_data_management.infrastructure.rest.dto.FlightDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightProtobufHttpMessageConverterTest {
+
+    private final FlightProtobufHttpMessageConverter converter = new FlightProtobufHttpMessageConverter();
+
+    @Test
+    void write_ShouldEncodeOnlyPresentFieldsWithCompactFareAndTime() throws Exception {
+        // Given
+        FlightDto flight = FlightDto.builder()
+                .airline("KL")
+                .fare(new BigDecimal("-1.50"))
+                .departureTime(ZonedDateTime.of(1970, 1, 1, 1, 0, 1, 0, ZoneOffset.ofHours(1)))
+                .version(3L)
+                .build();
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+        // When
+        converter.write(flight, FlightProtobufHttpMessageConverter.APPLICATION_PROTOBUF, message);
+
+        // Then
+        assertArrayEquals(bytes(
+                0x12, 0x02, 'K', 'L',  // airline
+                0x20, 0xAB, 0x02,      // fare_unscaled = -150, zigzag 299
+                0x28, 0x04,            // fare_scale = 2
+                0x40, 0x02,            // departure_time = 1 s
+                0x48, 0xA0, 0x38,      // departure_offset = 3600 s
+                0x60, 0x03             // version = 3
+        ), message.getBodyAsBytes());
+        assertEquals(FlightProtobufHttpMessageConverter.APPLICATION_PROTOBUF, message.getHeaders().getContentType());
+    }
+
+    @Test
+    void write_WithList_ShouldPrefixEachFlightWithItsLength() throws Exception {
+        // Given
+        List<FlightDto> flights = List.of(FlightDto.builder().airline("KL").build(), FlightDto.builder().version(1L).build());
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+        // When
+        converter.write(flights, FlightProtobufHttpMessageConverter.APPLICATION_PROTOBUF, message);
+
+        // Then
+        assertArrayEquals(bytes(
+                0x0A, 0x04, 0x12, 0x02, 'K', 'L',
+                0x0A, 0x02, 0x60, 0x01
+        ), message.getBodyAsBytes());
+    }
+
+    @Test
+    void write_WithListOfOtherObjects_ShouldRefuse() {
+        // When/Then
+        assertThrows(HttpMessageNotWritableException.class, () -> converter.write(
+                List.of("not a flight"), FlightProtobufHttpMessageConverter.APPLICATION_PROTOBUF, new MockHttpOutputMessage()));
+        assertFalse(converter.canRead(FlightDto.class, FlightProtobufHttpMessageConverter.APPLICATION_PROTOBUF));
+    }
+
+    private static byte[] bytes(int... values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (int value : values) {
+            bytes.write(value);
+        }
+        return bytes.toByteArray();
+    }
+}
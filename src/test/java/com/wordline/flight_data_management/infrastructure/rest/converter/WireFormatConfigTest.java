@@ -0,0 +1,76 @@
+package com.wordline.flight_data_management.infrastructure.rest.converter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.wordline.flight_data_management.application.port.in.FlightService;
+import com.wordline.flight_data_management.application.port.in.ReactiveFlightService;
+import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.infrastructure.cache.EncodedResponseCache;
+import com.wordline.flight_data_management.infrastructure.rest.controller.FlightController;
+import com.wordline.flight_data_management.infrastructure.rest.mapper.FlightDtoMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(FlightController.class)
+@Import(FlightDtoMapper.class)
+class WireFormatConfigTest {
+
+    private static final ZonedDateTime DEPARTURE = ZonedDateTime.of(2024, 6, 1, 10, 0, 0, 0, ZoneId.of("UTC"));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FlightService flightService;
+
+    @MockBean
+    private ReactiveFlightService reactiveFlightService;
+
+    @MockBean
+    private EncodedResponseCache encodedResponseCache;
+
+    @Test
+    void getFlightById_AcceptingCbor_ShouldWriteTimesAsEpochMillis() throws Exception {
+        // Given
+        UUID flightId = UUID.randomUUID();
+        when(flightService.getFlightById(flightId)).thenReturn(Optional.of(Flight.builder()
+                .id(flightId)
+                .airline("KL")
+                .fare(new BigDecimal("120.50"))
+                .departureTime(DEPARTURE)
+                .arrivalTime(DEPARTURE.plusHours(4))
+                .build()));
+
+        // When
+        byte[] body = mockMvc.perform(get("/flights/{id}", flightId)
+                        .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode flight = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertEquals("KL", flight.get("airline").asText());
+        assertTrue(flight.get("departureTime").isNumber());
+        assertEquals(DEPARTURE.toInstant().toEpochMilli(), flight.get("departureTime").asLong());
+    }
+}
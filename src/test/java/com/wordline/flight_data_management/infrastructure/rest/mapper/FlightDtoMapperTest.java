@@ -1,6 +1,8 @@
 package com.wordline.flight_data_management.infrastructure.rest.mapper;
 
+import com.wordline.flight_data_management.domain.exception.ValidationException;
 import com.wordline.flight_data_management.domain.model.Flight;
+import com.wordline.flight_data_management.domain.model.FlightCursor;
 import com.wordline.flight_data_management.domain.model.FlightSearchCriteria;
 import com.wordline.flight_data_management.infrastructure.rest.dto.CreateFlightRequest;
 import com.wordline.flight_data_management.infrastructure.rest.dto.FlightDto;
@@ -256,4 +258,50 @@ class FlightDtoMapperTest {
         // Then
         assertNull(result);
     }
+
+    @Test
+    void toCursor_WithTokenFromToCursorToken_ShouldRestoreCursor() {
+        // Given
+        FlightCursor cursor = FlightCursor.after(flight);
+
+        // When
+        FlightCursor result = flightDtoMapper.toCursor(flightDtoMapper.toCursorToken(cursor));
+
+        // Then
+        assertEquals(cursor.id(), result.id());
+        assertTrue(cursor.departureTime().isEqual(result.departureTime()));
+    }
+
+    @Test
+    void toCursor_WithMalformedToken_ShouldThrowValidationException() {
+        // When/Then
+        assertThrows(ValidationException.class, () -> flightDtoMapper.toCursor("not-a-cursor"));
+        assertNull(flightDtoMapper.toCursor(null));
+    }
+
+    @Test
+    void toETag_ShouldChangeWhenAFlightVersionChanges() {
+        // Given
+        flight.setVersion(1L);
+        String before = flightDtoMapper.toETag(List.of(flight));
+
+        // When
+        flight.setVersion(2L);
+        String after = flightDtoMapper.toETag(List.of(flight));
+
+        // Then
+        assertEquals("\"2\"", flightDtoMapper.toETag(flight));
+        assertNotEquals(before, after);
+        assertEquals(after, flightDtoMapper.toETag(List.of(flight)));
+    }
+
+    @Test
+    void toExpectedVersion_ShouldParseStrongETagsOnly() {
+        // When/Then
+        assertEquals(5L, flightDtoMapper.toExpectedVersion("\"5\""));
+        assertNull(flightDtoMapper.toExpectedVersion("*"));
+        assertNull(flightDtoMapper.toExpectedVersion(null));
+        assertEquals(-1L, flightDtoMapper.toExpectedVersion("W/\"5\""));
+        assertEquals(-1L, flightDtoMapper.toExpectedVersion("\"abc\""));
+    }
 }
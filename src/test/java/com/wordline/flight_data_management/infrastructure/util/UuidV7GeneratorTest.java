@@ -0,0 +1,56 @@
+package com.wordline.flight_data_management.infrastructure.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    private static final long NOW = 1_717_236_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private final UuidV7Generator generator = new UuidV7Generator(clock::get);
+
+    @Test
+    void generate_ShouldEncodeVersionVariantAndTimestamp() {
+        // When
+        UUID uuid = generator.generate();
+
+        // Then
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(NOW, uuid.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void generate_WithinOneMillisecond_ShouldStayOrdered() {
+        // When
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            uuids.add(generator.generate());
+        }
+
+        // Then
+        for (int i = 1; i < uuids.size(); i++) {
+            assertTrue(uuids.get(i - 1).compareTo(uuids.get(i)) < 0, "uuid " + i + " is out of order");
+        }
+    }
+
+    @Test
+    void generate_WhenClockStepsBack_ShouldNotGoBackwards() {
+        // Given
+        UUID before = generator.generate();
+        clock.set(NOW - 5_000);
+
+        // When
+        UUID after = generator.generate();
+
+        // Then
+        assertTrue(before.compareTo(after) < 0);
+    }
+}